@@ -15,17 +15,29 @@
  */
 package java.lang;
 
+import static javaemul.internal.InternalPreconditions.checkCriticalStringBounds;
 import static javaemul.internal.InternalPreconditions.checkStringElementIndex;
 
 /**
  * A base class to share implementation between {@link StringBuffer} and {@link StringBuilder}.
- * <p>
- * Most methods will give expected performance results. Exception is {@link #setCharAt(int, char)},
- * which is O(n), and thus should not be used many times on the same <code>StringBuffer</code>.
+ *
+ * <p>The contents are kept in one of two representations. In string mode they are held in {@link
+ * #string}, which makes appends cheap since JavaScript engines implement string concatenation with
+ * ropes. Operations that edit the contents in place ({@link #setCharAt}, insertions, deletions and
+ * replacements) switch to buffer mode where the contents are held in a growable char array, so that
+ * sequences of edits do not copy the whole string each time. The string representation is rebuilt
+ * lazily when it is needed, e.g. by {@link #toString}.
  */
 abstract class AbstractStringBuilder implements CharSequence, Appendable {
 
-  String string;
+  /** The contents in string mode; stale in buffer mode. */
+  private String string;
+
+  /** The contents in buffer mode, {@code null} in string mode. */
+  private char[] buffer;
+
+  /** The number of characters in {@link #buffer} that are part of the contents. */
+  private int count;
 
   AbstractStringBuilder(String string) {
     this.string = string;
@@ -33,15 +45,21 @@ abstract class AbstractStringBuilder implements CharSequence, Appendable {
 
   @Override
   public int length() {
-    return string.length();
+    return buffer != null ? count : string.length();
   }
 
   public void setLength(int newLength) {
+    // Always checked since a negative length would leave the buffer in an inconsistent state.
+    checkCriticalStringBounds(0, newLength, Integer.MAX_VALUE);
     int oldLength = length();
     if (newLength < oldLength) {
-      string = string.substring(0, newLength);
+      if (buffer != null) {
+        count = newLength;
+      } else {
+        string = string.substring(0, newLength);
+      }
     } else if (newLength > oldLength) {
-      string += String.valueOf(new char[newLength - oldLength]);
+      append0(String.valueOf(new char[newLength - oldLength]));
     }
   }
 
@@ -61,78 +79,107 @@ abstract class AbstractStringBuilder implements CharSequence, Appendable {
 
   @Override
   public char charAt(int index) {
+    if (buffer != null) {
+      checkStringElementIndex(index, count);
+      return buffer[index];
+    }
     return string.charAt(index);
   }
 
   public void getChars(int srcStart, int srcEnd, char[] dst, int dstStart) {
-    string.getChars(srcStart, srcEnd, dst, dstStart);
+    toString().getChars(srcStart, srcEnd, dst, dstStart);
   }
 
-  /**
-   * Warning! This method is <b>much</b> slower than the JRE implementation. If you need to do
-   * character level manipulation, you are strongly advised to use a char[] directly.
-   */
   public void setCharAt(int index, char x) {
-    replace0(index, index + 1, String.valueOf(x));
+    checkStringElementIndex(index, length());
+    ensureBuffer(0);
+    buffer[index] = x;
   }
 
   @Override
   public CharSequence subSequence(int start, int end) {
-    return string.substring(start, end);
+    return toString().substring(start, end);
   }
 
   public String substring(int begin) {
-    return string.substring(begin);
+    return toString().substring(begin);
   }
 
   public String substring(int begin, int end) {
-    return string.substring(begin, end);
+    return toString().substring(begin, end);
   }
 
   public int indexOf(String x) {
-    return string.indexOf(x);
+    return toString().indexOf(x);
   }
 
   public int indexOf(String x, int start) {
-    return string.indexOf(x, start);
+    return toString().indexOf(x, start);
   }
 
   public int lastIndexOf(String s) {
-    return string.lastIndexOf(s);
+    return toString().lastIndexOf(s);
   }
 
   public int lastIndexOf(String s, int start) {
-    return string.lastIndexOf(s, start);
+    return toString().lastIndexOf(s, start);
   }
 
   @Override
   public String toString() {
+    if (buffer != null) {
+      // Switch back to string mode, which is the cheapest for the appends that typically follow.
+      string = String.valueOf(buffer, 0, count);
+      buffer = null;
+    }
     return string;
   }
 
+  /** Appends {@code toAppend}, which is the string representation of the appended value. */
+  void append0(String toAppend) {
+    if (buffer == null) {
+      string += toAppend;
+      return;
+    }
+    int length = toAppend.length();
+    ensureBuffer(length);
+    toAppend.getChars(0, length, buffer, count);
+    count += length;
+  }
+
   void appendCodePoint0(int x) {
-    string += String.fromCodePoint(x);
+    append0(String.fromCodePoint(x));
   }
 
   void replace0(int start, int end, String toInsert) {
-    int length = string.length();
+    int length = length();
     if (end > length) {
       end = length;
     } else {
-      // Only checking for start > end; since rest is checked with substring.
+      // Only checking for start > end; since rest is checked below.
       checkStringElementIndex(start, end + 1);
     }
-
-    string = string.substring(0, start) + toInsert + string.substring(end);
+    checkStringElementIndex(start, length + 1);
+
+    toInsert = String.valueOf(toInsert);
+    int insertLength = toInsert.length();
+    int delta = insertLength - (end - start);
+    ensureBuffer(delta);
+    if (delta != 0) {
+      System.arraycopy(buffer, end, buffer, end + delta, count - end);
+    }
+    toInsert.getChars(0, insertLength, buffer, start);
+    count += delta;
   }
 
   void reverse0() {
-    int length = string.length();
+    int length = length();
 
     if (length <= 1) {
       return;
     }
 
+    String string = toString();
     char[] buffer = new char[length];
 
     buffer[0] = string.charAt(length - 1);
@@ -144,7 +191,23 @@ abstract class AbstractStringBuilder implements CharSequence, Appendable {
       }
     }
 
-    string = new String(buffer);
+    this.string = new String(buffer);
+  }
+
+  /**
+   * Switches to buffer mode if needed and makes sure that the buffer has room for {@code
+   * additionalLength} more characters.
+   */
+  private void ensureBuffer(int additionalLength) {
+    if (buffer == null) {
+      count = string.length();
+      buffer = new char[Math.max(count + additionalLength, count * 2 + 16)];
+      string.getChars(0, count, buffer, 0);
+    } else if (count + additionalLength > buffer.length) {
+      char[] newBuffer = new char[Math.max(count + additionalLength, buffer.length * 2 + 2)];
+      System.arraycopy(buffer, 0, newBuffer, 0, count);
+      buffer = newBuffer;
+    }
   }
 
   private static void swap(char[] buffer, int f, int s) {
@@ -32,6 +32,7 @@ import javaemul.internal.ArrayHelper;
 import javaemul.internal.EmulatedCharset;
 import javaemul.internal.JsUtils;
 import javaemul.internal.NativeRegExp;
+import javaemul.internal.RegExpCache;
 import jsinterop.annotations.JsMethod;
 import jsinterop.annotations.JsNonNull;
 import jsinterop.annotations.JsPackage;
@@ -456,7 +457,7 @@ public final class String implements Comparable<String>, CharSequence,
    */
   public boolean matches(String regex) {
     // We surround the regex with '^' and '$' because it must match the entire string.
-    return new NativeRegExp("^(" + regex + ")$").test(this);
+    return RegExpCache.get("^(" + regex + ")$", "").test(this);
   }
 
   public int offsetByCodePoints(int index, int codePointOffset) {
@@ -526,7 +527,7 @@ public final class String implements Comparable<String>, CharSequence,
   }
 
   private String nativeReplaceAll(String regex, String replace) {
-    return asNativeString().replace(new NativeRegExp(regex, "g"), replace);
+    return asNativeString().replace(RegExpCache.get(regex, "g"), replace);
   }
 
   /**
@@ -539,7 +540,7 @@ public final class String implements Comparable<String>, CharSequence,
    */
   public String replaceFirst(String regex, String replace) {
     replace = translateReplaceString(replace);
-    NativeRegExp jsRegEx = new NativeRegExp(regex);
+    NativeRegExp jsRegEx = RegExpCache.get(regex, "");
     return asNativeString().replace(jsRegEx, replace);
   }
 
@@ -562,8 +563,50 @@ public final class String implements Comparable<String>, CharSequence,
    * TODO(jat): properly handle Java regex syntax
    */
   public String[] split(String regex, int maxMatch) {
+    String[] out =
+        isLiteralChar(regex)
+            ? splitOnChar(regex.charAt(0), maxMatch)
+            : splitOnRegex(regex, maxMatch);
+    // all blank delimiters at the end are supposed to disappear if maxMatch == 0;
+    // however, if the input string is empty, the output should consist of a
+    // single empty string
+    if (maxMatch == 0 && this.length() > 0) {
+      int lastNonEmpty = out.length;
+      while (lastNonEmpty > 0 && out[lastNonEmpty - 1] == "") {
+        --lastNonEmpty;
+      }
+      if (lastNonEmpty < out.length) {
+        ArrayHelper.setLength(out, lastNonEmpty);
+      }
+    }
+    return out;
+  }
+
+  /** Returns true if {@code regex} is a single character that matches itself. */
+  private static boolean isLiteralChar(String regex) {
+    return regex.length() == 1 && ".$|()[{^?*+\\".indexOf(regex.charAt(0)) == -1;
+  }
+
+  /** Splits the string around occurrences of {@code separator} without using a regex. */
+  private String[] splitOnChar(char separator, int maxMatch) {
+    String[] out = new String[0];
+    int count = 0;
+    int start = 0;
+    while (maxMatch <= 0 || count < maxMatch - 1) {
+      int index = indexOf(separator, start);
+      if (index == -1) {
+        break;
+      }
+      out[count++] = substring(start, index);
+      start = index + 1;
+    }
+    out[count] = substring(start);
+    return out;
+  }
+
+  private String[] splitOnRegex(String regex, int maxMatch) {
     // The compiled regular expression created from the string
-    NativeRegExp compiled = new NativeRegExp(regex, "g");
+    NativeRegExp compiled = RegExpCache.get(regex, "g");
     // the Javascipt array to hold the matches prior to conversion
     String[] out = new String[0];
     // how many matches performed so far
@@ -597,18 +640,6 @@ public final class String implements Comparable<String>, CharSequence,
         count++;
       }
     }
-    // all blank delimiters at the end are supposed to disappear if maxMatch == 0;
-    // however, if the input string is empty, the output should consist of a
-    // single empty string
-    if (maxMatch == 0 && this.length() > 0) {
-      int lastNonEmpty = out.length;
-      while (lastNonEmpty > 0 && out[lastNonEmpty - 1] == "") {
-        --lastNonEmpty;
-      }
-      if (lastNonEmpty < out.length) {
-        ArrayHelper.setLength(out, lastNonEmpty);
-      }
-    }
     return out;
   }
 
@@ -47,70 +47,70 @@ public final class StringBuilder extends AbstractStringBuilder {
   }
 
   public StringBuilder append(boolean x) {
-    string += x;
+    append0(String.valueOf(x));
     return this;
   }
 
   @Override
   public StringBuilder append(char x) {
-    string += x;
+    append0(String.valueOf(x));
     return this;
   }
 
   public StringBuilder append(char[] x) {
-    string += String.valueOf(x);
+    append0(String.valueOf(x));
     return this;
   }
 
   public StringBuilder append(char[] x, int start, int len) {
-    string += String.valueOf(x, start, len);
+    append0(String.valueOf(x, start, len));
     return this;
   }
 
   @Override
   public StringBuilder append(CharSequence x) {
-    string += x;
+    append0(String.valueOf(x));
     return this;
   }
 
   @Override
   public StringBuilder append(CharSequence x, int start, int end) {
-    string += String.valueOf(x).substring(start, end);
+    append0(String.valueOf(x).substring(start, end));
     return this;
   }
 
   public StringBuilder append(double x) {
-    string += x;
+    append0(String.valueOf(x));
     return this;
   }
 
   public StringBuilder append(float x) {
-    string += x;
+    append0(String.valueOf(x));
     return this;
   }
 
   public StringBuilder append(int x) {
-    string += x;
+    append0(String.valueOf(x));
     return this;
   }
 
   public StringBuilder append(long x) {
-    string += x;
+    append0(String.valueOf(x));
     return this;
   }
 
   public StringBuilder append(Object x) {
-    string += x;
+    append0(String.valueOf(x));
     return this;
   }
 
   public StringBuilder append(String x) {
-    string += x;
+    append0(String.valueOf(x));
     return this;
   }
 
   public StringBuilder append(StringBuffer x) {
-    string += x;
+    append0(String.valueOf(x));
     return this;
   }
 
@@ -25,6 +25,10 @@ jre.classMetadata = goog.define('jre.classMetadata', 'SIMPLE');
 /** @define {string} */
 jre.checkedMode =
     goog.define('jre.checkedMode', goog.DEBUG ? 'ENABLED' : 'DISABLED');
+/** @define {string} */
+jre.longEmulation = goog.define('jre.longEmulation', 'GOOG_MATH_LONG');
+/** @define {string} */
+jre.bigIntegerConversion = goog.define('jre.bigIntegerConversion', 'JAVA');
 
 
 goog.provide('jre.checks');
@@ -40,6 +40,7 @@ import static javaemul.internal.InternalPreconditions.checkNotNull;
 import java.io.Serializable;
 import java.util.Random;
 import javaemul.internal.LongUtils;
+import javaemul.internal.Platform;
 
 /**
  * This class represents immutable integer numbers of arbitrary length. Large
@@ -179,6 +180,43 @@ public class BigInteger extends Number implements Comparable<BigInteger>,
       sign = 1;
       startChar = 0;
     }
+
+    boolean useNativeConversion =
+        radix == 10 && stringLength > 0 && Platform.useNativeBigIntConversion();
+    if (useNativeConversion
+        || stringLength > Conversion.RECURSIVE_CONVERSION_THRESHOLD
+            * Conversion.digitFitInInt[radix]) {
+      // A leading '+' is accepted, as it is by Integer.parseInt in the conversion below.
+      if (sign == 1 && val.charAt(0) == '+') {
+        startChar = 1;
+      }
+      if (startChar == endChar) {
+        throw new NumberFormatException(
+            "For input string: \"" + val + "\""); //$NON-NLS-1$
+      }
+      for (int i = startChar; i < endChar; i++) {
+        if (Character.digit(val.charAt(i), radix) < 0) {
+          throw new NumberFormatException(
+              "For input string: \"" + val + "\""); //$NON-NLS-1$
+        }
+      }
+      if (useNativeConversion) {
+        digits = Conversion.hexStringToMagnitude(
+            Platform.decimalToHexString(val.substring(startChar)));
+        numberLength = digits.length;
+      } else {
+        BigInteger magnitude = Conversion.parseMagnitude(
+            val, startChar, endChar, radix, new BigInteger[32]);
+        digits = magnitude.digits;
+        numberLength = magnitude.numberLength;
+      }
+      bi.sign = sign;
+      bi.numberLength = numberLength;
+      bi.digits = digits;
+      bi.cutOffLeadingZeroes();
+      return;
+    }
+
     /*
      * We use the following algorithm: split a string into portions of n
      * characters and convert each portion to an integer according to the radix.
@@ -34,6 +34,8 @@
  */
 package java.math;
 
+import javaemul.internal.Platform;
+
 /**
  * Static library that provides {@link BigInteger} base conversion from/to any
  * integer represented in a {@link java.lang.String} Object.
@@ -62,6 +64,22 @@ class Conversion {
       -1, -1, 31, 19, 15, 13, 11, 11, 10, 9, 9, 8, 8, 8, 8, 7, 7, 7, 7, 7, 7,
       7, 6, 6, 6, 6, 6, 6, 6, 6, 6, 6, 6, 6, 6, 6, 5};
 
+  /**
+   * Numbers with more ints than this are converted to and from strings by
+   * recursively splitting them in halves with a power of the radix, which is
+   * subquadratic in the number of digits as long as the multiplication is.
+   */
+  static final int RECURSIVE_CONVERSION_THRESHOLD = 32;
+
+  /**
+   * Holds {@code 10^(9 * 2^n)} at index {@code n}, computed lazily by squaring.
+   */
+  private static BigInteger[] tenPowers = {BigInteger.valueOf(1000000000)};
+
+  private static final double LOG_2 = Math.log(2);
+
+  private static final double LOG10_2 = Math.log(2) / Math.log(10);
+
   /**
    * @see BigInteger#toString(int)
    * @param val
@@ -235,6 +253,11 @@ class Conversion {
           result[--currentChar] = (char) (0x0030 + (prev - v * 10));
         } while (v != 0);
       }
+    } else if (Platform.useNativeBigIntConversion()
+        || numberLength > RECURSIVE_CONVERSION_THRESHOLD) {
+      String magnitude = magnitudeToDecimalString(val);
+      currentChar -= magnitude.length();
+      magnitude.getChars(0, magnitude.length(), result, currentChar);
     } else {
       int temp[] = new int[numberLength];
       int tempLen = numberLength;
@@ -326,6 +349,132 @@ class Conversion {
     return result1.toString();
   }
 
+  /**
+   * Returns the decimal digits of the magnitude of {@code val}, which has more
+   * than one int.
+   */
+  private static String magnitudeToDecimalString(BigInteger val) {
+    if (Platform.useNativeBigIntConversion()) {
+      return Platform.hexToDecimalString(magnitudeToHexString(val));
+    }
+    StringBuilder result = new StringBuilder();
+    appendDecimalDigits(result, val.abs(), 0);
+    return result.toString();
+  }
+
+  /**
+   * Appends the decimal digits of the non-negative {@code val}, padded with
+   * leading zeros to {@code minLength} digits, by splitting it with a power of
+   * ten of about half its size and converting both halves recursively.
+   */
+  private static void appendDecimalDigits(
+      StringBuilder result, BigInteger val, int minLength) {
+    if (val.numberLength <= RECURSIVE_CONVERSION_THRESHOLD) {
+      String digits = toDecimalScaledString(val, 0);
+      for (int i = digits.length(); i < minLength; i++) {
+        result.append('0');
+      }
+      result.append(digits);
+      return;
+    }
+    // Find n so that 10^(9 * 2^n) has about half as many digits as val.
+    double decimalDigits = val.bitLength() * LOG10_2;
+    int n = Math.max(0, (int) (Math.log(decimalDigits / 18) / LOG_2));
+    BigInteger[] quotientAndRemainder = val.divideAndRemainder(getTenPower(n));
+    int lowLength = 9 << n;
+    appendDecimalDigits(result, quotientAndRemainder[0], minLength - lowLength);
+    appendDecimalDigits(result, quotientAndRemainder[1], lowLength);
+  }
+
+  /**
+   * Returns {@code 10^(9 * 2^n)}.
+   */
+  private static BigInteger getTenPower(int n) {
+    if (n >= tenPowers.length) {
+      BigInteger[] powers = new BigInteger[n + 1];
+      System.arraycopy(tenPowers, 0, powers, 0, tenPowers.length);
+      for (int i = tenPowers.length; i <= n; i++) {
+        powers[i] = powers[i - 1].multiply(powers[i - 1]);
+      }
+      tenPowers = powers;
+    }
+    return tenPowers[n];
+  }
+
+  /**
+   * Parses the digits of {@code val} in [start, end), which must all be valid
+   * in {@code radix}, by splitting them in halves and combining the results
+   * with a multiplication.
+   *
+   * @param radixPowers holds {@code (radix^digitFitInInt[radix])^(2^n)} at
+   *          index {@code n}, filled in as needed.
+   */
+  static BigInteger parseMagnitude(
+      String val, int start, int end, int radix, BigInteger[] radixPowers) {
+    int charsPerInt = digitFitInInt[radix];
+    int length = end - start;
+    if (length <= RECURSIVE_CONVERSION_THRESHOLD * charsPerInt) {
+      return new BigInteger(val.substring(start, end), radix);
+    }
+    // Split off the lowest charsPerInt * 2^n digits, which is at least half.
+    int n = 0;
+    while ((charsPerInt << (n + 1)) < length) {
+      n++;
+    }
+    int split = end - (charsPerInt << n);
+    BigInteger high = parseMagnitude(val, start, split, radix, radixPowers);
+    BigInteger low = parseMagnitude(val, split, end, radix, radixPowers);
+    return high.multiply(getRadixPower(radix, n, radixPowers)).add(low);
+  }
+
+  private static BigInteger getRadixPower(
+      int radix, int n, BigInteger[] radixPowers) {
+    if (radix == 10) {
+      return getTenPower(n);
+    }
+    if (radixPowers[n] == null) {
+      radixPowers[n] = n == 0
+          ? BigInteger.valueOf(bigRadices[radix - 2] & 0xFFFFFFFFL)
+          : getRadixPower(radix, n - 1, radixPowers).multiply(
+              getRadixPower(radix, n - 1, radixPowers));
+    }
+    return radixPowers[n];
+  }
+
+  /**
+   * Returns the hexadecimal digits of the magnitude of {@code val}, without
+   * leading zeros.
+   */
+  static String magnitudeToHexString(BigInteger val) {
+    StringBuilder result = new StringBuilder(val.numberLength * 8);
+    result.append(Integer.toHexString(val.digits[val.numberLength - 1]));
+    for (int i = val.numberLength - 2; i >= 0; i--) {
+      String digit = Integer.toHexString(val.digits[i]);
+      for (int j = digit.length(); j < 8; j++) {
+        result.append('0');
+      }
+      result.append(digit);
+    }
+    return result.toString();
+  }
+
+  /**
+   * Returns the little endian ints of the magnitude written in hexadecimal
+   * digits by {@code hex}.
+   */
+  static int[] hexStringToMagnitude(String hex) {
+    int[] digits = new int[(hex.length() + 7) / 8];
+    for (int i = 0, end = hex.length(); end > 0; i++, end -= 8) {
+      int start = Math.max(0, end - 8);
+      int middle = Math.max(start, end - 4);
+      int highHalf = start == middle
+          ? 0 : Integer.parseInt(hex.substring(start, middle), 16);
+      int lowHalf = Integer.parseInt(hex.substring(middle, end), 16);
+      digits[i] = (highHalf << 16) | lowHalf;
+    }
+    return digits;
+  }
+
   /* can process only 32-bit numbers */
   static String toDecimalScaledString(long value, int scale) {
     int resLengthInChars;
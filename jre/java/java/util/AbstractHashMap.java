@@ -178,7 +178,7 @@ abstract class AbstractHashMap<K, V> extends AbstractMap<K, V> {
   public boolean containsKey(Object key) {
     return key instanceof String
         ? stringMap.contains(JsUtils.uncheckedCast(key))
-        : hashCodeMap.getEntry(key) != null;
+        : hashCodeMap.contains(key);
   }
 
   @Override
@@ -204,7 +204,7 @@ abstract class AbstractHashMap<K, V> extends AbstractMap<K, V> {
   public V get(Object key) {
     return key instanceof String
         ? stringMap.get(JsUtils.uncheckedCast(key))
-        : getEntryValueOrNull(hashCodeMap.getEntry(key));
+        : hashCodeMap.get(key);
   }
 
   @Override
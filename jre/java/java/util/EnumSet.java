@@ -16,70 +16,128 @@
 package java.util;
 
 import static javaemul.internal.InternalPreconditions.checkArgument;
+import static javaemul.internal.InternalPreconditions.checkCriticalType;
 import static javaemul.internal.InternalPreconditions.checkElement;
 import static javaemul.internal.InternalPreconditions.checkNotNull;
 import static javaemul.internal.InternalPreconditions.checkState;
 
+import javaemul.internal.ArrayHelper;
+
 /**
  * J2CL compatible implementation of EnumSet. Notably, some methods are unsupported since
  * Enum#getDeclaringClass is unsupported for code size reasons.
+ *
+ * <p>The set is represented as a bit vector indexed by ordinal. Since the universe of the enum is
+ * not available, the instances seen so far are recorded by ordinal to map the bits back to
+ * elements, which makes iteration naturally ordered without needing to sort or copy the elements.
  */
 public class EnumSet<E extends Enum<E>> extends AbstractSet<E> implements Cloneable {
-  private HashSet<E> set = new HashSet<>();
+  /** The instances that have been added to the set, indexed by ordinal. */
+  private E[] knownElements;
+
+  /** The bit vector of the ordinals of the elements in the set. */
+  private int[] bits;
 
-  EnumSet() {}
+  private int size;
+
+  @SuppressWarnings("unchecked")
+  EnumSet() {
+    this((E[]) new Enum[0], new int[0], 0);
+  }
+
+  private EnumSet(E[] knownElements, int[] bits, int size) {
+    this.knownElements = knownElements;
+    this.bits = bits;
+    this.size = size;
+  }
 
   @Override
   public boolean add(E e) {
     checkNotNull(e);
-    return set.add(e);
+    int ordinal = e.ordinal();
+    // Each ordinal belongs to a single constant, so a different instance at the same ordinal is a
+    // constant of another enum (added through raw types) that would corrupt the bookkeeping below.
+    checkCriticalType(
+        ordinal >= knownElements.length
+            || knownElements[ordinal] == null
+            || knownElements[ordinal] == e);
+    if (contains(e)) {
+      return false;
+    }
+    // Grows the array if needed.
+    ArrayHelper.setAt(knownElements, ordinal, e);
+    int wordIndex = ordinal >> 5;
+    if (wordIndex >= bits.length) {
+      bits = Arrays.copyOf(bits, wordIndex + 1);
+    }
+    bits[wordIndex] |= 1 << ordinal;
+    size++;
+    return true;
   }
 
   @Override
   public boolean remove(Object o) {
-    return set.remove(o);
+    if (!contains(o)) {
+      return false;
+    }
+    int ordinal = ((Enum<?>) o).ordinal();
+    bits[ordinal >> 5] &= ~(1 << ordinal);
+    size--;
+    return true;
   }
 
   @Override
   public boolean contains(Object o) {
-    return set.contains(o);
+    if (!(o instanceof Enum)) {
+      return false;
+    }
+    int ordinal = ((Enum<?>) o).ordinal();
+    int wordIndex = ordinal >> 5;
+    return wordIndex < bits.length
+        && (bits[wordIndex] & (1 << ordinal)) != 0
+        && knownElements[ordinal] == o;
   }
 
   @Override
   public int size() {
-    return set.size();
+    return size;
   }
 
   @Override
   public void clear() {
-    set.clear();
+    bits = new int[0];
+    size = 0;
   }
 
   @Override
   public Iterator<E> iterator() {
-    List<E> sortedEnums = new ArrayList<>(this.set);
-    Collections.sort(sortedEnums);
     return new Iterator<E>() {
-      int i = 0, last = -1;
+      // The bits of the current word that have not been returned yet. Like the JVM implementation
+      // the iterator does not reflect additions to the word that is being iterated.
+      int unseen, wordIndex = -1, last = -1;
 
       @Override
       public boolean hasNext() {
-        return i < sortedEnums.size();
+        while (unseen == 0 && wordIndex + 1 < bits.length) {
+          unseen = bits[++wordIndex];
+        }
+        return unseen != 0;
       }
 
       @Override
       public E next() {
         checkElement(hasNext());
 
-        last = i++;
-        return sortedEnums.get(last);
+        last = wordIndex * 32 + Integer.numberOfTrailingZeros(unseen);
+        unseen &= unseen - 1;
+        return knownElements[last];
       }
 
       @Override
       public void remove() {
         checkState(last != -1);
 
-        EnumSet.this.remove(sortedEnums.get(last));
+        EnumSet.this.remove(knownElements[last]);
         last = -1;
       }
     };
@@ -114,12 +172,12 @@ public class EnumSet<E extends Enum<E>> extends AbstractSet<E> implements Clonea
   }
 
   public EnumSet<E> clone() {
-    return EnumSet.copyOf(this);
+    return new EnumSet<>(ArrayHelper.clone(knownElements), Arrays.copyOf(bits, bits.length), size);
   }
 
   // Used in EnumMap.
   int capacity() {
-    return size();
+    return knownElements.length;
   }
 
   // TODO(b/138399086): Remove these from the API if possible to make it a compile time error.
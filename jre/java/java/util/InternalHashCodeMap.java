@@ -26,35 +26,94 @@ import javaemul.internal.JsUtils;
  * <p>
  * Implementation notes:
  * <p>
- * A key's hashCode is the index in backingMap which should contain that key. Since several keys may
- * have the same hash, each value in hashCodeMap is actually an array containing all entries whose
- * keys share the same hash.
+ * A key's hashCode is the index in the backing maps which should contain that key. Since hash codes
+ * are mostly unique, the only key with a given hash and its value are stored directly in {@code
+ * keys} and {@code values} without allocating an entry. Only when several keys share the same hash
+ * the bucket is promoted to a {@link Chain} containing all entries whose keys share that hash.
+ * Entries for keys that are stored directly are only created when iterating.
  */
 class InternalHashCodeMap<K, V> implements Iterable<Entry<K, V>> {
 
-  private final InternalJsMap<Object> backingMap = new InternalJsMap();
+  /** The entries whose keys share the same hash code. */
+  private static class Chain<K, V> {
+    final Entry<K, V>[] entries = JsUtils.uncheckedCast(new Object[0]);
+  }
+
+  /**
+   * Maps hash codes to the only key with that hash code, or to a {@link Chain} if there are several
+   * keys.
+   */
+  private final InternalJsMap<Object> keys = new InternalJsMap<>();
+
+  /**
+   * Maps hash codes to the value of the only key with that hash code, or to null if the bucket is a
+   * {@link Chain}. Note that it always has the same keys, in the same order, as {@link #keys}.
+   */
+  private final InternalJsMap<V> values = new InternalJsMap<>();
+
   private AbstractHashMap<K, V> host;
   private int size;
 
+  /**
+   * A mod count to track 'value' replacements in map to ensure that the 'value' that we have in the
+   * iterator entry is guaranteed to be still correct.
+   */
+  private int valueMod;
+
   public InternalHashCodeMap(AbstractHashMap<K, V> host) {
     this.host = host;
   }
 
+  public boolean contains(Object key) {
+    Object bucket = keys.get(hash(key));
+    if (bucket instanceof Chain) {
+      return findEntryInChain(key, asChain(bucket).entries) != null;
+    }
+    return !JsUtils.isUndefined(bucket) && host.equals(key, bucket);
+  }
+
+  public V get(Object key) {
+    int hashCode = hash(key);
+    Object bucket = keys.get(hashCode);
+    if (bucket instanceof Chain) {
+      Entry<K, V> entry = findEntryInChain(key, asChain(bucket).entries);
+      return entry == null ? null : entry.getValue();
+    }
+    return !JsUtils.isUndefined(bucket) && host.equals(key, bucket) ? values.get(hashCode) : null;
+  }
+
   public V put(K key, V value) {
     int hashCode = hash(key);
-    Entry<K, V>[] chain = getChainOrEmpty(hashCode);
+    Object bucket = keys.get(hashCode);
 
-    if (chain.length == 0) {
-      // This is a new chain, put it to the map.
-      backingMap.set(hashCode, chain);
-    } else {
+    if (JsUtils.isUndefined(bucket)) {
+      // This is a new bucket, store the mapping directly.
+      keys.set(hashCode, key);
+      values.set(hashCode, value);
+    } else if (bucket instanceof Chain) {
       // Chain already exists, perhaps key also exists.
+      Entry<K, V>[] chain = asChain(bucket).entries;
       Entry<K, V> entry = findEntryInChain(key, chain);
       if (entry != null) {
+        valueMod++;
         return entry.setValue(value);
       }
+      chain[chain.length] = new SimpleEntry<K, V>(key, value);
+    } else if (host.equals(key, bucket)) {
+      valueMod++;
+      V oldValue = values.get(hashCode);
+      values.set(hashCode, value);
+      return oldValue;
+    } else {
+      // Different keys share the hash code, promote the bucket to a chain.
+      K bucketKey = JsUtils.uncheckedCast(bucket);
+      Chain<K, V> chain = new Chain<>();
+      chain.entries[0] = new SimpleEntry<K, V>(bucketKey, values.get(hashCode));
+      chain.entries[1] = new SimpleEntry<K, V>(key, value);
+      keys.set(hashCode, chain);
+      values.set(hashCode, null);
+      valueMod++;
     }
-    chain[chain.length] = new SimpleEntry<K, V>(key, value);
     size++;
     host.structureChanged();
     return null;
@@ -62,14 +121,28 @@ class InternalHashCodeMap<K, V> implements Iterable<Entry<K, V>> {
 
   public V remove(Object key) {
     int hashCode = hash(key);
-    Entry<K, V>[] chain = getChainOrEmpty(hashCode);
+    Object bucket = keys.get(hashCode);
+    if (!(bucket instanceof Chain)) {
+      if (JsUtils.isUndefined(bucket) || !host.equals(key, bucket)) {
+        return null;
+      }
+      V value = values.get(hashCode);
+      keys.delete(hashCode);
+      values.delete(hashCode);
+      size--;
+      host.structureChanged();
+      return value;
+    }
+
+    Entry<K, V>[] chain = asChain(bucket).entries;
     for (int i = 0; i < chain.length; i++) {
       Entry<K, V> entry = chain[i];
       if (host.equals(key, entry.getKey())) {
         if (chain.length == 1) {
           ArrayHelper.setLength(chain, 0);
-          // remove the whole array
-          backingMap.delete(hashCode);
+          // remove the whole bucket
+          keys.delete(hashCode);
+          values.delete(hashCode);
         } else {
           // splice out the entry we're removing
           ArrayHelper.removeFrom(chain, i, 1);
@@ -82,10 +155,6 @@ class InternalHashCodeMap<K, V> implements Iterable<Entry<K, V>> {
     return null;
   }
 
-  public Map.Entry<K, V> getEntry(Object key) {
-    return findEntryInChain(key, getChainOrEmpty(hash(key)));
-  }
-
   private Map.Entry<K, V> findEntryInChain(Object key, Entry<K, V>[] chain) {
     for (Entry<K, V> entry : chain) {
       if (host.equals(key, entry.getKey())) {
@@ -102,46 +171,87 @@ class InternalHashCodeMap<K, V> implements Iterable<Entry<K, V>> {
   @Override
   public Iterator<Entry<K, V>> iterator() {
     return new Iterator<Map.Entry<K, V>>() {
-      final InternalJsMap.Iterator<?> chains = backingMap.entries();
+      // Both maps are iterated in lockstep since they have the same keys in the same order.
+      final InternalJsMap.Iterator<Object> keyBuckets = keys.entries();
+      final InternalJsMap.Iterator<V> valueBuckets = values.entries();
       int itemIndex = 0;
       Entry<K, V>[] chain = newEntryChain();
+      // The entry for the next bucket if it is not a chain.
+      Entry<K, V> nextEntry = null;
       Entry<K, V> lastEntry = null;
+      Entry<K, V>[] lastChain = null;
 
       @Override
       public boolean hasNext() {
-        if (itemIndex < chain.length) {
+        if (nextEntry != null || itemIndex < chain.length) {
           return true;
         }
-        InternalJsMap.IteratorEntry<?> current = chains.next();
-        if (!current.isDone()) {
+        InternalJsMap.IteratorEntry<Object> current = keyBuckets.next();
+        V value = valueBuckets.next().getValue();
+        if (current.isDone()) {
+          return false;
+        }
+        Object bucket = current.getValue();
+        if (bucket instanceof Chain) {
           // Move to the beginning of next chain
-          chain = JsUtils.uncheckedCast(current.getValue());
+          chain = asChain(bucket).entries;
           itemIndex = 0;
-          return true;
+        } else {
+          nextEntry = newMapEntry(JsUtils.uncheckedCast(bucket), value, valueMod);
         }
-        return false;
+        return true;
       }
 
       @Override
       public Entry<K, V> next() {
-        lastEntry = chain[itemIndex++];
+        if (nextEntry != null) {
+          lastEntry = nextEntry;
+          lastChain = null;
+          nextEntry = null;
+        } else {
+          lastEntry = chain[itemIndex++];
+          lastChain = chain;
+        }
         return lastEntry;
       }
 
       @Override
       public void remove() {
         InternalHashCodeMap.this.remove(lastEntry.getKey());
-        // Unless we are in a new chain, all items have shifted so our itemIndex should as well...
-        if (itemIndex != 0) {
+        // Unless we moved to another bucket, the items in the chain have shifted so our itemIndex
+        // should as well...
+        if (lastChain == chain && itemIndex != 0) {
           itemIndex--;
         }
       }
     };
   }
 
-  private Entry<K, V>[] getChainOrEmpty(int hashCode) {
-    Entry<K, V>[] chain = JsUtils.uncheckedCast(backingMap.get(hashCode));
-    return chain == null ? newEntryChain() : chain;
+  private Entry<K, V> newMapEntry(final K key, final V value, final int lastValueMod) {
+    return new AbstractMapEntry<K, V>() {
+      @Override
+      public K getKey() {
+        return key;
+      }
+
+      @Override
+      public V getValue() {
+        if (valueMod != lastValueMod) {
+          // Let's get a fresh copy as the value may have changed.
+          return get(key);
+        }
+        return value;
+      }
+
+      @Override
+      public V setValue(V object) {
+        return put(key, object);
+      }
+    };
+  }
+
+  private Chain<K, V> asChain(Object bucket) {
+    return JsUtils.uncheckedCast(bucket);
   }
 
   private Entry<K, V>[] newEntryChain() {
@@ -0,0 +1,405 @@
+/*
+ * Copyright 2022 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package java.util;
+
+import javaemul.internal.ArrayHelper;
+
+/**
+ * Sorts for primitive arrays that compare the values directly instead of going through a
+ * comparator function.
+ *
+ * <p>Integral types of up to 32 bits are sorted with an LSD radix sort on 8 bit digits, skipping
+ * the digits that are the same for all the values. {@code long} and floating point values are
+ * sorted with a merge sort, since extracting digits of an emulated {@code long} is expensive and
+ * floating point values need Java's ordering for {@code -0.0} and {@code NaN}.
+ */
+final class PrimitiveSorts {
+
+  /** Ranges shorter than this are sorted with insertion sort. */
+  private static final int INSERTION_SORT_THRESHOLD = 32;
+
+  private static final int RADIX = 256;
+
+  static void sort(byte[] array, int fromIndex, int toIndex) {
+    if (toIndex - fromIndex < INSERTION_SORT_THRESHOLD) {
+      insertionSort(array, fromIndex, toIndex);
+      return;
+    }
+
+    // Counting sort; values are offset by 128 so that the buckets are in signed order.
+    int[] counts = new int[RADIX];
+    for (int i = fromIndex; i < toIndex; i++) {
+      counts[array[i] + 128]++;
+    }
+    int index = fromIndex;
+    for (int bucket = 0; bucket < RADIX; bucket++) {
+      byte value = (byte) (bucket - 128);
+      for (int count = counts[bucket]; count > 0; count--) {
+        array[index++] = value;
+      }
+    }
+  }
+
+  static void sort(char[] array, int fromIndex, int toIndex) {
+    int length = toIndex - fromIndex;
+    if (length < INSERTION_SORT_THRESHOLD) {
+      insertionSort(array, fromIndex, toIndex);
+      return;
+    }
+
+    int[] counts = new int[2 * RADIX];
+    for (int i = fromIndex; i < toIndex; i++) {
+      char value = array[i];
+      counts[value & 0xFF]++;
+      counts[RADIX + (value >>> 8)]++;
+    }
+
+    char[] source = array;
+    int sourceOffset = fromIndex;
+    char[] target = null;
+    int targetOffset = 0;
+    for (int pass = 0; pass < 2; pass++) {
+      if (!countsToOffsets(counts, pass, length)) {
+        continue;
+      }
+      if (target == null) {
+        target = new char[length];
+      }
+      int shift = pass * 8;
+      for (int i = sourceOffset; i < sourceOffset + length; i++) {
+        char value = source[i];
+        target[targetOffset + counts[pass * RADIX + ((value >>> shift) & 0xFF)]++] = value;
+      }
+      char[] swap = source;
+      source = target;
+      target = swap;
+      int swapOffset = sourceOffset;
+      sourceOffset = targetOffset;
+      targetOffset = swapOffset;
+    }
+    if (source != array) {
+      ArrayHelper.copy(source, sourceOffset, array, fromIndex, length);
+    }
+  }
+
+  static void sort(short[] array, int fromIndex, int toIndex) {
+    int length = toIndex - fromIndex;
+    if (length < INSERTION_SORT_THRESHOLD) {
+      insertionSort(array, fromIndex, toIndex);
+      return;
+    }
+
+    int[] counts = new int[2 * RADIX];
+    for (int i = fromIndex; i < toIndex; i++) {
+      short value = array[i];
+      counts[shortDigit(value, 0)]++;
+      counts[RADIX + shortDigit(value, 1)]++;
+    }
+
+    short[] source = array;
+    int sourceOffset = fromIndex;
+    short[] target = null;
+    int targetOffset = 0;
+    for (int pass = 0; pass < 2; pass++) {
+      if (!countsToOffsets(counts, pass, length)) {
+        continue;
+      }
+      if (target == null) {
+        target = new short[length];
+      }
+      for (int i = sourceOffset; i < sourceOffset + length; i++) {
+        short value = source[i];
+        target[targetOffset + counts[pass * RADIX + shortDigit(value, pass)]++] = value;
+      }
+      short[] swap = source;
+      source = target;
+      target = swap;
+      int swapOffset = sourceOffset;
+      sourceOffset = targetOffset;
+      targetOffset = swapOffset;
+    }
+    if (source != array) {
+      ArrayHelper.copy(source, sourceOffset, array, fromIndex, length);
+    }
+  }
+
+  /** Returns the digit of {@code value} for the given pass, with the sign bit flipped on top. */
+  private static int shortDigit(short value, int pass) {
+    return pass == 0 ? value & 0xFF : ((value >>> 8) & 0xFF) ^ 0x80;
+  }
+
+  static void sort(int[] array, int fromIndex, int toIndex) {
+    int length = toIndex - fromIndex;
+    if (length < INSERTION_SORT_THRESHOLD) {
+      insertionSort(array, fromIndex, toIndex);
+      return;
+    }
+
+    int[] counts = new int[4 * RADIX];
+    for (int i = fromIndex; i < toIndex; i++) {
+      int value = array[i];
+      for (int pass = 0; pass < 4; pass++) {
+        counts[pass * RADIX + intDigit(value, pass)]++;
+      }
+    }
+
+    int[] source = array;
+    int sourceOffset = fromIndex;
+    int[] target = null;
+    int targetOffset = 0;
+    for (int pass = 0; pass < 4; pass++) {
+      if (!countsToOffsets(counts, pass, length)) {
+        continue;
+      }
+      if (target == null) {
+        target = new int[length];
+      }
+      for (int i = sourceOffset; i < sourceOffset + length; i++) {
+        int value = source[i];
+        target[targetOffset + counts[pass * RADIX + intDigit(value, pass)]++] = value;
+      }
+      int[] swap = source;
+      source = target;
+      target = swap;
+      int swapOffset = sourceOffset;
+      sourceOffset = targetOffset;
+      targetOffset = swapOffset;
+    }
+    if (source != array) {
+      ArrayHelper.copy(source, sourceOffset, array, fromIndex, length);
+    }
+  }
+
+  /** Returns the digit of {@code value} for the given pass, with the sign bit flipped on top. */
+  private static int intDigit(int value, int pass) {
+    int digit = (value >>> (pass * 8)) & 0xFF;
+    return pass == 3 ? digit ^ 0x80 : digit;
+  }
+
+  /**
+   * Turns the counts of the given pass into the offset where each bucket starts. Returns false if
+   * all the values fall into a single bucket, in which case the pass does not need to be done.
+   */
+  private static boolean countsToOffsets(int[] counts, int pass, int length) {
+    int base = pass * RADIX;
+    int offset = 0;
+    for (int bucket = base; bucket < base + RADIX; bucket++) {
+      int count = counts[bucket];
+      if (count == length) {
+        return false;
+      }
+      counts[bucket] = offset;
+      offset += count;
+    }
+    return true;
+  }
+
+  static void sort(long[] array, int fromIndex, int toIndex) {
+    if (toIndex - fromIndex < INSERTION_SORT_THRESHOLD) {
+      insertionSort(array, fromIndex, toIndex);
+      return;
+    }
+    long[] temp = Arrays.copyOfRange(array, fromIndex, toIndex);
+    mergeSort(temp, array, fromIndex, toIndex, -fromIndex);
+  }
+
+  /**
+   * Sorts [low, high) of {@code array} using {@code temp}, which should contain a copy of the range
+   * at {@code low + ofs}, as scratch space.
+   */
+  private static void mergeSort(long[] temp, long[] array, int low, int high, int ofs) {
+    if (high - low < INSERTION_SORT_THRESHOLD) {
+      insertionSort(array, low, high);
+      return;
+    }
+
+    // Recursively sort both halves into temp, using the array as scratch space.
+    int tempLow = low + ofs;
+    int tempHigh = high + ofs;
+    int tempMid = tempLow + ((tempHigh - tempLow) >> 1);
+    mergeSort(array, temp, tempLow, tempMid, -ofs);
+    mergeSort(array, temp, tempMid, tempHigh, -ofs);
+
+    // Skip merge if already in order - just copy from temp.
+    if (temp[tempMid - 1] <= temp[tempMid]) {
+      ArrayHelper.copy(temp, tempLow, array, low, high - low);
+      return;
+    }
+
+    int topIdx = tempMid;
+    while (low < high) {
+      if (topIdx >= tempHigh || (tempLow < tempMid && temp[tempLow] <= temp[topIdx])) {
+        array[low++] = temp[tempLow++];
+      } else {
+        array[low++] = temp[topIdx++];
+      }
+    }
+  }
+
+  static void sort(float[] array, int fromIndex, int toIndex) {
+    int length = toIndex - fromIndex;
+    double[] values = new double[length];
+    for (int i = 0; i < length; i++) {
+      values[i] = array[fromIndex + i];
+    }
+    sort(values, 0, length);
+    for (int i = 0; i < length; i++) {
+      array[fromIndex + i] = (float) values[i];
+    }
+  }
+
+  static void sort(double[] array, int fromIndex, int toIndex) {
+    // Move NaNs to the end, since they are greater than any other value, and count -0.0 values
+    // which compare equal to 0.0 but need to be sorted before them.
+    int end = toIndex;
+    int negativeZeros = 0;
+    for (int i = toIndex - 1; i >= fromIndex; i--) {
+      double value = array[i];
+      if (value != value) {
+        array[i] = array[--end];
+        array[end] = value;
+      } else if (value == 0 && 1 / value < 0) {
+        negativeZeros++;
+      }
+    }
+
+    if (end - fromIndex < INSERTION_SORT_THRESHOLD) {
+      insertionSort(array, fromIndex, end);
+    } else {
+      double[] temp = Arrays.copyOfRange(array, fromIndex, end);
+      mergeSort(temp, array, fromIndex, end, -fromIndex);
+    }
+
+    if (negativeZeros == 0) {
+      return;
+    }
+
+    // Zeros are adjacent after sorting, rewrite the run so that -0.0 values come first.
+    int low = fromIndex;
+    int high = end;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (array[mid] < 0) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    for (int i = low; i < low + negativeZeros; i++) {
+      array[i] = -0.0;
+    }
+    for (int i = low + negativeZeros; i < end && array[i] == 0; i++) {
+      array[i] = 0.0;
+    }
+  }
+
+  /** See {@link #mergeSort(long[], long[], int, int, int)}. */
+  private static void mergeSort(double[] temp, double[] array, int low, int high, int ofs) {
+    if (high - low < INSERTION_SORT_THRESHOLD) {
+      insertionSort(array, low, high);
+      return;
+    }
+
+    int tempLow = low + ofs;
+    int tempHigh = high + ofs;
+    int tempMid = tempLow + ((tempHigh - tempLow) >> 1);
+    mergeSort(array, temp, tempLow, tempMid, -ofs);
+    mergeSort(array, temp, tempMid, tempHigh, -ofs);
+
+    if (temp[tempMid - 1] <= temp[tempMid]) {
+      ArrayHelper.copy(temp, tempLow, array, low, high - low);
+      return;
+    }
+
+    int topIdx = tempMid;
+    while (low < high) {
+      if (topIdx >= tempHigh || (tempLow < tempMid && temp[tempLow] <= temp[topIdx])) {
+        array[low++] = temp[tempLow++];
+      } else {
+        array[low++] = temp[topIdx++];
+      }
+    }
+  }
+
+  private static void insertionSort(byte[] array, int low, int high) {
+    for (int i = low + 1; i < high; i++) {
+      byte value = array[i];
+      int j = i;
+      for (; j > low && array[j - 1] > value; j--) {
+        array[j] = array[j - 1];
+      }
+      array[j] = value;
+    }
+  }
+
+  private static void insertionSort(char[] array, int low, int high) {
+    for (int i = low + 1; i < high; i++) {
+      char value = array[i];
+      int j = i;
+      for (; j > low && array[j - 1] > value; j--) {
+        array[j] = array[j - 1];
+      }
+      array[j] = value;
+    }
+  }
+
+  private static void insertionSort(short[] array, int low, int high) {
+    for (int i = low + 1; i < high; i++) {
+      short value = array[i];
+      int j = i;
+      for (; j > low && array[j - 1] > value; j--) {
+        array[j] = array[j - 1];
+      }
+      array[j] = value;
+    }
+  }
+
+  private static void insertionSort(int[] array, int low, int high) {
+    for (int i = low + 1; i < high; i++) {
+      int value = array[i];
+      int j = i;
+      for (; j > low && array[j - 1] > value; j--) {
+        array[j] = array[j - 1];
+      }
+      array[j] = value;
+    }
+  }
+
+  private static void insertionSort(long[] array, int low, int high) {
+    for (int i = low + 1; i < high; i++) {
+      long value = array[i];
+      int j = i;
+      for (; j > low && array[j - 1] > value; j--) {
+        array[j] = array[j - 1];
+      }
+      array[j] = value;
+    }
+  }
+
+  /** Sorts a range that contains no NaN values; -0.0 and 0.0 are not ordered. */
+  private static void insertionSort(double[] array, int low, int high) {
+    for (int i = low + 1; i < high; i++) {
+      double value = array[i];
+      int j = i;
+      for (; j > low && array[j - 1] > value; j--) {
+        array[j] = array[j - 1];
+      }
+      array[j] = value;
+    }
+  }
+
+  private PrimitiveSorts() {}
+}
@@ -0,0 +1,302 @@
+/*
+ * Copyright 2022 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package java.util;
+
+import javaemul.internal.ArrayHelper;
+
+/**
+ * A stable, adaptive merge sort for object arrays based on TimSort.
+ *
+ * <p>The range is split into runs that are already in order (strictly descending runs are
+ * reversed), short runs are extended with binary insertion sort and runs are merged keeping the
+ * TimSort invariants on the run stack. Input that is already partially sorted is therefore sorted
+ * in close to linear time. Unlike the original algorithm, merges do not use galloping; the merged
+ * runs are only trimmed with a binary search of the elements that are already in place.
+ */
+final class TimSort {
+
+  /** Ranges shorter than this are sorted with binary insertion sort. */
+  private static final int MIN_MERGE = 32;
+
+  /** Enough to sort arrays of any length given the invariants maintained on the run stack. */
+  private static final int MAX_RUN_STACK_SIZE = 49;
+
+  private final Object[] array;
+  private final Comparator<Object> comparator;
+
+  /** Temporary storage for merges, grown as needed. */
+  private Object[] temp = new Object[0];
+
+  /** The start and length of the pending runs, which are contiguous. */
+  private final int[] runBase = new int[MAX_RUN_STACK_SIZE];
+
+  private final int[] runLength = new int[MAX_RUN_STACK_SIZE];
+  private int stackSize;
+
+  private TimSort(Object[] array, Comparator<Object> comparator) {
+    this.array = array;
+    this.comparator = comparator;
+  }
+
+  /** Sorts the range [fromIndex, toIndex) of {@code array}. */
+  static void sort(Object[] array, int fromIndex, int toIndex, Comparator<Object> comparator) {
+    int remaining = toIndex - fromIndex;
+    if (remaining < 2) {
+      return;
+    }
+
+    if (remaining < MIN_MERGE) {
+      int initialRunLength = countRunAndMakeAscending(array, fromIndex, toIndex, comparator);
+      binarySort(array, fromIndex, toIndex, fromIndex + initialRunLength, comparator);
+      return;
+    }
+
+    TimSort timSort = new TimSort(array, comparator);
+    int minRun = minRunLength(remaining);
+    int low = fromIndex;
+    do {
+      int length = countRunAndMakeAscending(array, low, toIndex, comparator);
+      if (length < minRun) {
+        // Extend the run to minRun elements.
+        int forced = Math.min(remaining, minRun);
+        binarySort(array, low, low + forced, low + length, comparator);
+        length = forced;
+      }
+
+      timSort.pushRun(low, length);
+      timSort.mergeCollapse();
+
+      low += length;
+      remaining -= length;
+    } while (remaining != 0);
+
+    timSort.mergeForceCollapse();
+  }
+
+  /**
+   * Sorts [low, high) with binary insertion sort, assuming that [low, start) is already sorted.
+   */
+  private static void binarySort(
+      Object[] array, int low, int high, int start, Comparator<Object> comparator) {
+    for (; start < high; start++) {
+      Object pivot = array[start];
+      // Find the position after all the elements that are less than or equal to the pivot, which
+      // keeps the sort stable.
+      int position = low + upperBound(pivot, array, low, start - low, comparator);
+      for (int i = start; i > position; i--) {
+        array[i] = array[i - 1];
+      }
+      array[position] = pivot;
+    }
+  }
+
+  /**
+   * Returns the length of the run starting at {@code low}, reversing it if it is strictly
+   * descending. Descending runs need to be strict to keep the sort stable.
+   */
+  private static int countRunAndMakeAscending(
+      Object[] array, int low, int high, Comparator<Object> comparator) {
+    int runHigh = low + 1;
+    if (runHigh == high) {
+      return 1;
+    }
+
+    if (comparator.compare(array[runHigh++], array[low]) < 0) {
+      while (runHigh < high && comparator.compare(array[runHigh], array[runHigh - 1]) < 0) {
+        runHigh++;
+      }
+      reverseRange(array, low, runHigh);
+    } else {
+      while (runHigh < high && comparator.compare(array[runHigh], array[runHigh - 1]) >= 0) {
+        runHigh++;
+      }
+    }
+    return runHigh - low;
+  }
+
+  private static void reverseRange(Object[] array, int low, int high) {
+    high--;
+    while (low < high) {
+      Object t = array[low];
+      array[low++] = array[high];
+      array[high--] = t;
+    }
+  }
+
+  /**
+   * Returns the minimum length of a run so that the number of runs is equal to, or slightly less
+   * than, a power of two, which keeps the merges balanced.
+   */
+  private static int minRunLength(int length) {
+    int lowBits = 0;
+    while (length >= MIN_MERGE) {
+      lowBits |= length & 1;
+      length >>= 1;
+    }
+    return length + lowBits;
+  }
+
+  private void pushRun(int base, int length) {
+    runBase[stackSize] = base;
+    runLength[stackSize] = length;
+    stackSize++;
+  }
+
+  /**
+   * Merges runs until the invariants {@code runLength[i - 2] > runLength[i - 1] + runLength[i]}
+   * and {@code runLength[i - 1] > runLength[i]} hold for the whole stack.
+   */
+  private void mergeCollapse() {
+    while (stackSize > 1) {
+      int n = stackSize - 2;
+      if ((n > 0 && runLength[n - 1] <= runLength[n] + runLength[n + 1])
+          || (n > 1 && runLength[n - 2] <= runLength[n] + runLength[n - 1])) {
+        if (runLength[n - 1] < runLength[n + 1]) {
+          n--;
+        }
+      } else if (runLength[n] > runLength[n + 1]) {
+        break;
+      }
+      mergeAt(n);
+    }
+  }
+
+  /** Merges all the runs on the stack into one. */
+  private void mergeForceCollapse() {
+    while (stackSize > 1) {
+      int n = stackSize - 2;
+      if (n > 0 && runLength[n - 1] < runLength[n + 1]) {
+        n--;
+      }
+      mergeAt(n);
+    }
+  }
+
+  /** Merges the runs at stack indices {@code i} and {@code i + 1}. */
+  private void mergeAt(int i) {
+    int base1 = runBase[i];
+    int length1 = runLength[i];
+    int base2 = runBase[i + 1];
+    int length2 = runLength[i + 1];
+
+    runLength[i] = length1 + length2;
+    if (i == stackSize - 3) {
+      runBase[i + 1] = runBase[i + 2];
+      runLength[i + 1] = runLength[i + 2];
+    }
+    stackSize--;
+
+    // Elements of the first run that are not greater than the first element of the second run are
+    // already in place.
+    int inPlace = upperBound(array[base2], array, base1, length1, comparator);
+    base1 += inPlace;
+    length1 -= inPlace;
+    if (length1 == 0) {
+      return;
+    }
+
+    // Elements of the second run that are not less than the last element of the first run are
+    // already in place.
+    length2 = lowerBound(array[base1 + length1 - 1], array, base2, length2, comparator);
+    if (length2 == 0) {
+      return;
+    }
+
+    if (length1 <= length2) {
+      mergeLow(base1, length1, base2, length2);
+    } else {
+      mergeHigh(base1, length1, base2, length2);
+    }
+  }
+
+  /** Merges two adjacent runs front to back, copying the first and shorter one aside. */
+  private void mergeLow(int base1, int length1, int base2, int length2) {
+    Object[] temp = ensureTempCapacity(length1);
+    ArrayHelper.copy(array, base1, temp, 0, length1);
+
+    int cursor1 = 0;
+    int cursor2 = base2;
+    int end2 = base2 + length2;
+    int destination = base1;
+    while (cursor1 < length1 && cursor2 < end2) {
+      if (comparator.compare(array[cursor2], temp[cursor1]) < 0) {
+        array[destination++] = array[cursor2++];
+      } else {
+        array[destination++] = temp[cursor1++];
+      }
+    }
+    // The remaining elements of the second run, if any, are already in place.
+    ArrayHelper.copy(temp, cursor1, array, destination, length1 - cursor1);
+  }
+
+  /** Merges two adjacent runs back to front, copying the second and shorter one aside. */
+  private void mergeHigh(int base1, int length1, int base2, int length2) {
+    Object[] temp = ensureTempCapacity(length2);
+    ArrayHelper.copy(array, base2, temp, 0, length2);
+
+    int cursor1 = base1 + length1 - 1;
+    int cursor2 = length2 - 1;
+    int destination = base2 + length2 - 1;
+    while (cursor1 >= base1 && cursor2 >= 0) {
+      if (comparator.compare(temp[cursor2], array[cursor1]) < 0) {
+        array[destination--] = array[cursor1--];
+      } else {
+        array[destination--] = temp[cursor2--];
+      }
+    }
+    // The remaining elements of the first run, if any, are already in place.
+    ArrayHelper.copy(temp, 0, array, destination - cursor2, cursor2 + 1);
+  }
+
+  private Object[] ensureTempCapacity(int capacity) {
+    if (temp.length < capacity) {
+      temp = new Object[Math.max(capacity, Math.min(temp.length * 2, array.length / 2))];
+    }
+    return temp;
+  }
+
+  /** Returns the number of elements in [base, base + length) not greater than {@code key}. */
+  private static int upperBound(
+      Object key, Object[] array, int base, int length, Comparator<Object> comparator) {
+    int low = 0;
+    int high = length;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (comparator.compare(key, array[base + mid]) < 0) {
+        high = mid;
+      } else {
+        low = mid + 1;
+      }
+    }
+    return low;
+  }
+
+  /** Returns the number of elements in [base, base + length) less than {@code key}. */
+  private static int lowerBound(
+      Object key, Object[] array, int base, int length, Comparator<Object> comparator) {
+    int low = 0;
+    int high = length;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (comparator.compare(array[base + mid], key) < 0) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+}
@@ -288,6 +288,11 @@ final class DoubleStreamImpl extends TerminatableStream<DoubleStreamImpl> implem
     public boolean tryAdvance(final IntConsumer action) {
       return original.tryAdvance((double u) -> action.accept(map.applyAsInt(u)));
     }
+
+    @Override
+    public void forEachRemaining(final IntConsumer action) {
+      original.forEachRemaining((double u) -> action.accept(map.applyAsInt(u)));
+    }
   }
 
   /**
@@ -312,6 +317,11 @@ final class DoubleStreamImpl extends TerminatableStream<DoubleStreamImpl> implem
     public boolean tryAdvance(final Consumer<? super T> action) {
       return original.tryAdvance((double u) -> action.accept(map.apply(u)));
     }
+
+    @Override
+    public void forEachRemaining(final Consumer<? super T> action) {
+      original.forEachRemaining((double u) -> action.accept(map.apply(u)));
+    }
   }
 
   /**
@@ -334,6 +344,11 @@ final class DoubleStreamImpl extends TerminatableStream<DoubleStreamImpl> implem
     public boolean tryAdvance(final LongConsumer action) {
       return original.tryAdvance((double u) -> action.accept(map.applyAsLong(u)));
     }
+
+    @Override
+    public void forEachRemaining(final LongConsumer action) {
+      original.forEachRemaining((double u) -> action.accept(map.applyAsLong(u)));
+    }
   }
 
   /**
@@ -356,6 +371,11 @@ final class DoubleStreamImpl extends TerminatableStream<DoubleStreamImpl> implem
     public boolean tryAdvance(final DoubleConsumer action) {
       return original.tryAdvance((double u) -> action.accept(map.applyAsDouble(u)));
     }
+
+    @Override
+    public void forEachRemaining(final DoubleConsumer action) {
+      original.forEachRemaining((double u) -> action.accept(map.applyAsDouble(u)));
+    }
   }
 
   /**
@@ -397,6 +417,16 @@ final class DoubleStreamImpl extends TerminatableStream<DoubleStreamImpl> implem
 
       return found;
     }
+
+    @Override
+    public void forEachRemaining(final DoubleConsumer action) {
+      original.forEachRemaining(
+          (double item) -> {
+            if (filter.test(item)) {
+              action.accept(item);
+            }
+          });
+    }
   }
 
   /**
@@ -431,6 +461,13 @@ final class DoubleStreamImpl extends TerminatableStream<DoubleStreamImpl> implem
       }
       return original.tryAdvance(action);
     }
+
+    @Override
+    public void forEachRemaining(DoubleConsumer action) {
+      if (tryAdvance(action)) {
+        original.forEachRemaining(action);
+      }
+    }
   }
 
   /**
@@ -565,11 +602,9 @@ final class DoubleStreamImpl extends TerminatableStream<DoubleStreamImpl> implem
   @Override
   public long count() {
     terminate();
-    long count = 0;
-    while (spliterator.tryAdvance((double value) -> { })) {
-      count++;
-    }
-    return count;
+    long[] count = {0};
+    spliterator.forEachRemaining((double value) -> count[0]++);
+    return count[0];
   }
 
   @Override
@@ -301,6 +301,11 @@ final class IntStreamImpl extends TerminatableStream<IntStreamImpl> implements I
     public boolean tryAdvance(final IntConsumer action) {
       return original.tryAdvance((int u) -> action.accept(map.applyAsInt(u)));
     }
+
+    @Override
+    public void forEachRemaining(final IntConsumer action) {
+      original.forEachRemaining((int u) -> action.accept(map.applyAsInt(u)));
+    }
   }
 
   /**
@@ -325,6 +330,11 @@ final class IntStreamImpl extends TerminatableStream<IntStreamImpl> implements I
     public boolean tryAdvance(final Consumer<? super T> action) {
       return original.tryAdvance((int u) -> action.accept(map.apply(u)));
     }
+
+    @Override
+    public void forEachRemaining(final Consumer<? super T> action) {
+      original.forEachRemaining((int u) -> action.accept(map.apply(u)));
+    }
   }
 
   /**
@@ -347,6 +357,11 @@ final class IntStreamImpl extends TerminatableStream<IntStreamImpl> implements I
     public boolean tryAdvance(final LongConsumer action) {
       return original.tryAdvance((int u) -> action.accept(map.applyAsLong(u)));
     }
+
+    @Override
+    public void forEachRemaining(final LongConsumer action) {
+      original.forEachRemaining((int u) -> action.accept(map.applyAsLong(u)));
+    }
   }
 
   /**
@@ -369,6 +384,11 @@ final class IntStreamImpl extends TerminatableStream<IntStreamImpl> implements I
     public boolean tryAdvance(final DoubleConsumer action) {
       return original.tryAdvance((int u) -> action.accept(map.applyAsDouble(u)));
     }
+
+    @Override
+    public void forEachRemaining(final DoubleConsumer action) {
+      original.forEachRemaining((int u) -> action.accept(map.applyAsDouble(u)));
+    }
   }
 
   /**
@@ -410,6 +430,16 @@ final class IntStreamImpl extends TerminatableStream<IntStreamImpl> implements I
 
       return found;
     }
+
+    @Override
+    public void forEachRemaining(final IntConsumer action) {
+      original.forEachRemaining(
+          (int item) -> {
+            if (filter.test(item)) {
+              action.accept(item);
+            }
+          });
+    }
   }
 
   /**
@@ -444,6 +474,13 @@ final class IntStreamImpl extends TerminatableStream<IntStreamImpl> implements I
       }
       return original.tryAdvance(action);
     }
+
+    @Override
+    public void forEachRemaining(IntConsumer action) {
+      if (tryAdvance(action)) {
+        original.forEachRemaining(action);
+      }
+    }
   }
 
   /**
@@ -562,11 +599,9 @@ final class IntStreamImpl extends TerminatableStream<IntStreamImpl> implements I
   @Override
   public long count() {
     terminate();
-    long count = 0;
-    while (spliterator.tryAdvance((int value) -> { })) {
-      count++;
-    }
-    return count;
+    long[] count = {0};
+    spliterator.forEachRemaining((int value) -> count[0]++);
+    return count[0];
   }
 
   @Override
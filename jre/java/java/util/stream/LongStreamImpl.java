@@ -293,6 +293,11 @@ final class LongStreamImpl extends TerminatableStream<LongStreamImpl> implements
     public boolean tryAdvance(final IntConsumer action) {
       return original.tryAdvance((long u) -> action.accept(map.applyAsInt(u)));
     }
+
+    @Override
+    public void forEachRemaining(final IntConsumer action) {
+      original.forEachRemaining((long u) -> action.accept(map.applyAsInt(u)));
+    }
   }
 
   /**
@@ -317,6 +322,11 @@ final class LongStreamImpl extends TerminatableStream<LongStreamImpl> implements
     public boolean tryAdvance(final Consumer<? super T> action) {
       return original.tryAdvance((long u) -> action.accept(map.apply(u)));
     }
+
+    @Override
+    public void forEachRemaining(final Consumer<? super T> action) {
+      original.forEachRemaining((long u) -> action.accept(map.apply(u)));
+    }
   }
 
   /**
@@ -339,6 +349,11 @@ final class LongStreamImpl extends TerminatableStream<LongStreamImpl> implements
     public boolean tryAdvance(final LongConsumer action) {
       return original.tryAdvance((long u) -> action.accept(map.applyAsLong(u)));
     }
+
+    @Override
+    public void forEachRemaining(final LongConsumer action) {
+      original.forEachRemaining((long u) -> action.accept(map.applyAsLong(u)));
+    }
   }
 
   /**
@@ -361,6 +376,11 @@ final class LongStreamImpl extends TerminatableStream<LongStreamImpl> implements
     public boolean tryAdvance(final DoubleConsumer action) {
       return original.tryAdvance((long u) -> action.accept(map.applyAsDouble(u)));
     }
+
+    @Override
+    public void forEachRemaining(final DoubleConsumer action) {
+      original.forEachRemaining((long u) -> action.accept(map.applyAsDouble(u)));
+    }
   }
 
   /**
@@ -402,6 +422,16 @@ final class LongStreamImpl extends TerminatableStream<LongStreamImpl> implements
 
       return found;
     }
+
+    @Override
+    public void forEachRemaining(final LongConsumer action) {
+      original.forEachRemaining(
+          (long item) -> {
+            if (filter.test(item)) {
+              action.accept(item);
+            }
+          });
+    }
   }
 
   /**
@@ -436,6 +466,13 @@ final class LongStreamImpl extends TerminatableStream<LongStreamImpl> implements
       }
       return original.tryAdvance(action);
     }
+
+    @Override
+    public void forEachRemaining(LongConsumer action) {
+      if (tryAdvance(action)) {
+        original.forEachRemaining(action);
+      }
+    }
   }
 
   /**
@@ -569,11 +606,9 @@ final class LongStreamImpl extends TerminatableStream<LongStreamImpl> implements
   @Override
   public long count() {
     terminate();
-    long count = 0;
-    while (spliterator.tryAdvance((long value) -> { })) {
-      count++;
-    }
-    return count;
+    long[] count = {0};
+    spliterator.forEachRemaining((long value) -> count[0]++);
+    return count[0];
   }
 
   @Override
@@ -316,6 +316,11 @@ final class StreamImpl<T> extends TerminatableStream<StreamImpl<T>> implements S
     public boolean tryAdvance(final Consumer<? super T> action) {
       return original.tryAdvance(u -> action.accept(map.apply(u)));
     }
+
+    @Override
+    public void forEachRemaining(final Consumer<? super T> action) {
+      original.forEachRemaining(u -> action.accept(map.apply(u)));
+    }
   }
 
   /**
@@ -340,6 +345,11 @@ final class StreamImpl<T> extends TerminatableStream<StreamImpl<T>> implements S
     public boolean tryAdvance(final IntConsumer action) {
       return original.tryAdvance(u -> action.accept(map.applyAsInt(u)));
     }
+
+    @Override
+    public void forEachRemaining(final IntConsumer action) {
+      original.forEachRemaining(u -> action.accept(map.applyAsInt(u)));
+    }
   }
 
   /**
@@ -364,6 +374,11 @@ final class StreamImpl<T> extends TerminatableStream<StreamImpl<T>> implements S
     public boolean tryAdvance(final LongConsumer action) {
       return original.tryAdvance(u -> action.accept(map.applyAsLong(u)));
     }
+
+    @Override
+    public void forEachRemaining(final LongConsumer action) {
+      original.forEachRemaining(u -> action.accept(map.applyAsLong(u)));
+    }
   }
 
   /**
@@ -389,6 +404,11 @@ final class StreamImpl<T> extends TerminatableStream<StreamImpl<T>> implements S
     public boolean tryAdvance(final DoubleConsumer action) {
       return original.tryAdvance(u -> action.accept(map.applyAsDouble(u)));
     }
+
+    @Override
+    public void forEachRemaining(final DoubleConsumer action) {
+      original.forEachRemaining(u -> action.accept(map.applyAsDouble(u)));
+    }
   }
 
   /**
@@ -432,6 +452,16 @@ final class StreamImpl<T> extends TerminatableStream<StreamImpl<T>> implements S
 
       return found;
     }
+
+    @Override
+    public void forEachRemaining(final Consumer<? super T> action) {
+      original.forEachRemaining(
+          item -> {
+            if (filter.test(item)) {
+              action.accept(item);
+            }
+          });
+    }
   }
 
   /**
@@ -468,6 +498,13 @@ final class StreamImpl<T> extends TerminatableStream<StreamImpl<T>> implements S
       }
       return original.tryAdvance(action);
     }
+
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+      if (tryAdvance(action)) {
+        original.forEachRemaining(action);
+      }
+    }
   }
 
   /**
@@ -540,11 +577,9 @@ final class StreamImpl<T> extends TerminatableStream<StreamImpl<T>> implements S
   @Override
   public long count() {
     terminate();
-    long count = 0;
-    while (spliterator.tryAdvance(a -> { })) {
-      count++;
-    }
-    return count;
+    long[] count = {0};
+    spliterator.forEachRemaining(a -> count[0]++);
+    return count[0];
   }
 
   @Override
@@ -17,7 +17,6 @@ package javaemul.internal;
 
 import java.util.Iterator;
 import javaemul.internal.annotations.DoNotAutobox;
-import jsinterop.annotations.JsFunction;
 import jsinterop.annotations.JsMethod;
 import jsinterop.annotations.JsPackage;
 import jsinterop.annotations.JsProperty;
@@ -188,39 +187,6 @@ public final class ArrayHelper {
   @JsProperty(name = "Array.prototype.splice", namespace = JsPackage.GLOBAL)
   private static native NativeFunction getSpliceFunction();
 
-  /** Compare function for sort. */
-  @JsFunction
-  public interface CompareFunction {
-    double compare(Object d1, Object d2);
-  }
-
-  public static void sort(Object array, CompareFunction fn) {
-    asNativeArray(array).sort(fn);
-  }
-
-  @JsFunction
-  private interface CompareDoubleFunction {
-    double compare(double d1, double d2);
-  }
-
-  public static CompareFunction getIntComparator() {
-    return JsUtils.uncheckedCast((CompareDoubleFunction) (a, b) -> a - b);
-  }
-
-  public static CompareFunction getDoubleComparator() {
-    return JsUtils.uncheckedCast((CompareDoubleFunction) Double::compare);
-  }
-
-  @JsFunction
-  private interface CompareLongFunction {
-    @SuppressWarnings("unusable-by-js")
-    int compare(long d1, long d2);
-  }
-
-  public static CompareFunction getLongComparator() {
-    return JsUtils.uncheckedCast((CompareLongFunction) Long::compare);
-  }
-
   // TODO(b/234777938): Remove once the stdlib is in with their implementation of ArrayIterators.
   public static <T> Iterator<T> arrayIterator(T[] array) {
     return new ArrayIterator<>(array);
@@ -311,8 +277,6 @@ public final class ArrayHelper {
     native Object[] slice(int fromIndex, int toIndex);
 
     native void splice(int index, int deleteCount, Object... value);
-
-    native <T> void sort(CompareFunction compareFunction);
   }
 
   private ArrayHelper() {}
@@ -20,130 +20,618 @@ import jsinterop.annotations.JsType;
 
 /**
  * Defines utility static functions that map from transpiled Long instantiation and arithmetic
- * operations to some particular Long emulation library. (In this case Closure's goog.math.Long)
+ * operations to some particular Long emulation library. (By default Closure's goog.math.Long, or
+ * the representation selected by {@code jre.longEmulation})
  */
 @JsType(namespace = "vmbootstrap")
 public class LongUtils {
 
+  /**
+   * Returns whether longs are represented as JavaScript BigInt values wrapped to 64 bits instead of
+   * goog.math.Long instances. BigInt arithmetic does not need to allocate an object per operation
+   * on engines that optimize {@code BigInt.asIntN(64, ...)}.
+   *
+   * <p>Note that this is a method rather than a static field so that LongUtils does not need a
+   * class initializer; the compiler folds the property to a constant.
+   */
+  private static boolean useBigInt() {
+    return System.getProperty("jre.longEmulation") == "BIGINT";
+  }
+
+  /**
+   * Returns whether longs that are safe integers, i.e. that fit in 53 bits, are represented as
+   * plain JavaScript numbers and only the rest as goog.math.Long instances. Most longs in practice
+   * (counters, timestamps, ids) are small, so operations on them run at number speed and do not
+   * allocate.
+   */
+  private static boolean useHybrid() {
+    return System.getProperty("jre.longEmulation") == "HYBRID";
+  }
+
   public static long fromBits(int lowBits, int highBits) {
+    if (useBigInt()) {
+      return bigIntFromBits(lowBits, highBits);
+    }
+    if (useHybrid()) {
+      return hybridFromBits(lowBits, highBits);
+    }
     return NativeLong.fromBits(lowBits, highBits);
   }
 
   public static int compare(long a, long b) {
+    if (useBigInt()) {
+      return bigIntCompare(a, b);
+    }
+    if (useHybrid()) {
+      return hybridCompare(a, b);
+    }
     return toNativeLong(a).compare(b);
   }
 
   public static long fromInt(int value) {
+    if (useBigInt()) {
+      return bigIntFromInt(value);
+    }
+    if (useHybrid()) {
+      return hybridFromInt(value);
+    }
     // Ensure int is coerced to 32 bits.
     return NativeLong.fromInt(value | 0);
   }
 
   public static long fromNumber(double value) {
+    if (useBigInt()) {
+      return bigIntFromNumber(value);
+    }
+    if (useHybrid()) {
+      return hybridFromNumber(value);
+    }
     return NativeLong.fromNumber(value);
   }
 
   public static int toInt(long value) {
+    if (useBigInt()) {
+      return bigIntToInt(value);
+    }
+    if (useHybrid()) {
+      return hybridToInt(value);
+    }
     return toNativeLong(value).toInt();
   }
 
   public static double toNumber(long value) {
+    if (useBigInt()) {
+      return bigIntToNumber(value);
+    }
+    if (useHybrid()) {
+      return hybridToNumber(value);
+    }
     return toNativeLong(value).toNumber();
   }
 
   public static long bitAnd(long leftLong, long rightLong) {
+    if (useBigInt()) {
+      return bigIntBitAnd(leftLong, rightLong);
+    }
+    if (useHybrid()) {
+      return hybridBitAnd(leftLong, rightLong);
+    }
     return toNativeLong(leftLong).and(rightLong);
   }
 
   public static long not(long valueLong) {
+    if (useBigInt()) {
+      return bigIntNot(valueLong);
+    }
+    if (useHybrid()) {
+      return hybridNot(valueLong);
+    }
     return toNativeLong(valueLong).not();
   }
 
   public static long divide(long leftLong, long rightLong) {
     LongUtils.checkDivisorZero(rightLong);
+    if (useBigInt()) {
+      return bigIntDivide(leftLong, rightLong);
+    }
+    if (useHybrid()) {
+      return hybridDivide(leftLong, rightLong);
+    }
     return toNativeLong(leftLong).div(rightLong);
   }
 
   public static boolean equals(long leftLong, long rightLong) {
+    if (useBigInt()) {
+      return bigIntEquals(leftLong, rightLong);
+    }
+    if (useHybrid()) {
+      return hybridEquals(leftLong, rightLong);
+    }
     return toNativeLong(leftLong).equals(toNativeLong(rightLong));
   }
 
   public static boolean greater(long leftLong, long rightLong) {
+    if (useBigInt()) {
+      return bigIntGreater(leftLong, rightLong);
+    }
+    if (useHybrid()) {
+      return hybridGreater(leftLong, rightLong);
+    }
     return toNativeLong(leftLong).greaterThan(rightLong);
   }
 
   public static boolean greaterEquals(long leftLong, long rightLong) {
+    if (useBigInt()) {
+      return bigIntGreaterEquals(leftLong, rightLong);
+    }
+    if (useHybrid()) {
+      return hybridGreaterEquals(leftLong, rightLong);
+    }
     return toNativeLong(leftLong).greaterThanOrEqual(rightLong);
   }
 
   public static long leftShift(long valueLong, int numBits) {
+    if (useBigInt()) {
+      return bigIntLeftShift(valueLong, numBits);
+    }
+    if (useHybrid()) {
+      return hybridLeftShift(valueLong, numBits);
+    }
     return toNativeLong(valueLong).shiftLeft(numBits);
   }
 
   public static boolean less(long leftLong, long rightLong) {
+    if (useBigInt()) {
+      return bigIntLess(leftLong, rightLong);
+    }
+    if (useHybrid()) {
+      return hybridLess(leftLong, rightLong);
+    }
     return toNativeLong(leftLong).lessThan(rightLong);
   }
 
   public static boolean lessEquals(long leftLong, long rightLong) {
+    if (useBigInt()) {
+      return bigIntLessEquals(leftLong, rightLong);
+    }
+    if (useHybrid()) {
+      return hybridLessEquals(leftLong, rightLong);
+    }
     return toNativeLong(leftLong).lessThanOrEqual(rightLong);
   }
 
   public static long minus(long leftLong, long rightLong) {
+    if (useBigInt()) {
+      return bigIntMinus(leftLong, rightLong);
+    }
+    if (useHybrid()) {
+      return hybridMinus(leftLong, rightLong);
+    }
     return toNativeLong(leftLong).subtract(rightLong);
   }
 
   public static long negate(long valueLong) {
+    if (useBigInt()) {
+      return bigIntNegate(valueLong);
+    }
+    if (useHybrid()) {
+      return hybridNegate(valueLong);
+    }
     return toNativeLong(valueLong).negate();
   }
 
   public static boolean notEquals(long leftLong, long rightLong) {
+    if (useBigInt()) {
+      return bigIntNotEquals(leftLong, rightLong);
+    }
+    if (useHybrid()) {
+      return hybridNotEquals(leftLong, rightLong);
+    }
     return toNativeLong(leftLong).notEquals(rightLong);
   }
 
   public static long bitOr(long leftLong, long rightLong) {
+    if (useBigInt()) {
+      return bigIntBitOr(leftLong, rightLong);
+    }
+    if (useHybrid()) {
+      return hybridBitOr(leftLong, rightLong);
+    }
     return toNativeLong(leftLong).or(rightLong);
   }
 
   public static long plus(long leftLong, long rightLong) {
+    if (useBigInt()) {
+      return bigIntPlus(leftLong, rightLong);
+    }
+    if (useHybrid()) {
+      return hybridPlus(leftLong, rightLong);
+    }
     return toNativeLong(leftLong).add(rightLong);
   }
 
   public static long remainder(long leftLong, long rightLong) {
     LongUtils.checkDivisorZero(rightLong);
+    if (useBigInt()) {
+      return bigIntRemainder(leftLong, rightLong);
+    }
+    if (useHybrid()) {
+      return hybridRemainder(leftLong, rightLong);
+    }
     return toNativeLong(leftLong).modulo(rightLong);
   }
 
   public static long rightShiftSigned(long valueLong, int numBits) {
+    if (useBigInt()) {
+      return bigIntRightShiftSigned(valueLong, numBits);
+    }
+    if (useHybrid()) {
+      return hybridRightShiftSigned(valueLong, numBits);
+    }
     return toNativeLong(valueLong).shiftRight(numBits);
   }
 
   public static long rightShiftUnsigned(long valueLong, int numBits) {
+    if (useBigInt()) {
+      return bigIntRightShiftUnsigned(valueLong, numBits);
+    }
+    if (useHybrid()) {
+      return hybridRightShiftUnsigned(valueLong, numBits);
+    }
     return toNativeLong(valueLong).shiftRightUnsigned(numBits);
   }
 
   public static long times(long leftLong, long rightLong) {
+    if (useBigInt()) {
+      return bigIntTimes(leftLong, rightLong);
+    }
+    if (useHybrid()) {
+      return hybridTimes(leftLong, rightLong);
+    }
     return toNativeLong(leftLong).multiply(rightLong);
   }
 
   public static long bitXor(long leftLong, long rightLong) {
+    if (useBigInt()) {
+      return bigIntBitXor(leftLong, rightLong);
+    }
+    if (useHybrid()) {
+      return hybridBitXor(leftLong, rightLong);
+    }
     return toNativeLong(leftLong).xor(rightLong);
   }
 
   public static int getHighBits(long valueLong) {
+    if (useBigInt()) {
+      return bigIntGetHighBits(valueLong);
+    }
+    if (useHybrid()) {
+      return hybridGetHighBits(valueLong);
+    }
     return toNativeLong(valueLong).getHighBits();
   }
 
   public static int getLowBits(long valueLong) {
+    if (useBigInt()) {
+      return bigIntGetLowBits(valueLong);
+    }
+    if (useHybrid()) {
+      return hybridGetLowBits(valueLong);
+    }
     return toNativeLong(valueLong).getLowBits();
   }
 
   public static String toString(long valueLong, int radix) {
+    if (useBigInt()) {
+      return bigIntToString(valueLong, radix);
+    }
+    if (useHybrid()) {
+      return hybridToString(valueLong, radix);
+    }
     return toNativeLong(valueLong).toString(radix);
   }
 
   public static void checkDivisorZero(long divisor) {
-    InternalPreconditions.checkArithmetic(!toNativeLong(divisor).isZero());
+    boolean isZero;
+    if (useBigInt()) {
+      isZero = bigIntIsZero(divisor);
+    } else if (useHybrid()) {
+      isZero = isNumber(divisor) ? asNumber(divisor) == 0 : toNativeLong(divisor).isZero();
+    } else {
+      isZero = toNativeLong(divisor).isZero();
+    }
+    InternalPreconditions.checkArithmetic(!isZero);
+  }
+
+  // Implementations of the operations on top of JavaScript BigInt, see LongUtils.native.js.
+
+  private static native long bigIntFromBits(int lowBits, int highBits);
+
+  private static native int bigIntCompare(long a, long b);
+
+  private static native long bigIntFromInt(int value);
+
+  private static native long bigIntFromNumber(double value);
+
+  private static native int bigIntToInt(long value);
+
+  private static native double bigIntToNumber(long value);
+
+  private static native long bigIntBitAnd(long leftLong, long rightLong);
+
+  private static native long bigIntNot(long valueLong);
+
+  private static native long bigIntDivide(long leftLong, long rightLong);
+
+  private static native boolean bigIntEquals(long leftLong, long rightLong);
+
+  private static native boolean bigIntGreater(long leftLong, long rightLong);
+
+  private static native boolean bigIntGreaterEquals(long leftLong, long rightLong);
+
+  private static native long bigIntLeftShift(long valueLong, int numBits);
+
+  private static native boolean bigIntLess(long leftLong, long rightLong);
+
+  private static native boolean bigIntLessEquals(long leftLong, long rightLong);
+
+  private static native long bigIntMinus(long leftLong, long rightLong);
+
+  private static native long bigIntNegate(long valueLong);
+
+  private static native boolean bigIntNotEquals(long leftLong, long rightLong);
+
+  private static native long bigIntBitOr(long leftLong, long rightLong);
+
+  private static native long bigIntPlus(long leftLong, long rightLong);
+
+  private static native long bigIntRemainder(long leftLong, long rightLong);
+
+  private static native long bigIntRightShiftSigned(long valueLong, int numBits);
+
+  private static native long bigIntRightShiftUnsigned(long valueLong, int numBits);
+
+  private static native long bigIntTimes(long leftLong, long rightLong);
+
+  private static native long bigIntBitXor(long leftLong, long rightLong);
+
+  private static native int bigIntGetHighBits(long valueLong);
+
+  private static native int bigIntGetLowBits(long valueLong);
+
+  private static native String bigIntToString(long valueLong, int radix);
+
+  private static native boolean bigIntIsZero(long value);
+
+  // Implementations of the operations for the hybrid representation. Results are always
+  // normalized: a long is a number if and only if it is a safe integer, so that each value has a
+  // single representation. Operations on numbers fall back to goog.math.Long whenever the result
+  // might not be a safe integer.
+
+  private static final double TWO_PWR_32_DBL = 4294967296.0;
+
+  private static long hybridFromBits(int lowBits, int highBits) {
+    double value = highBits * TWO_PWR_32_DBL + ((lowBits >>> 1) * 2.0 + (lowBits & 1));
+    return isSafeInteger(value) ? fromSafeNumber(value) : NativeLong.fromBits(lowBits, highBits);
+  }
+
+  private static int hybridCompare(long a, long b) {
+    if (isNumber(a) && isNumber(b)) {
+      double left = asNumber(a);
+      double right = asNumber(b);
+      return left < right ? -1 : (left > right ? 1 : 0);
+    }
+    return toNativeLong(toGoogLong(a)).compare(toGoogLong(b));
+  }
+
+  private static long hybridFromInt(int value) {
+    return fromSafeNumber(value | 0);
+  }
+
+  private static long hybridFromNumber(double value) {
+    double truncated = value < 0 ? Math.ceil(value) : Math.floor(value);
+    if (isSafeInteger(truncated)) {
+      return fromSafeNumber(truncated);
+    }
+    // Takes care of NaN, infinities and saturation.
+    return fromGoogLong(NativeLong.fromNumber(value));
+  }
+
+  private static int hybridToInt(long value) {
+    return isNumber(value) ? toInt32(asNumber(value)) : toNativeLong(value).toInt();
+  }
+
+  private static double hybridToNumber(long value) {
+    return isNumber(value) ? asNumber(value) : toNativeLong(value).toNumber();
+  }
+
+  private static long hybridBitAnd(long leftLong, long rightLong) {
+    if (isInt32(leftLong) && isInt32(rightLong)) {
+      return fromSafeNumber(toInt32(asNumber(leftLong)) & toInt32(asNumber(rightLong)));
+    }
+    return fromGoogLong(toNativeLong(toGoogLong(leftLong)).and(toGoogLong(rightLong)));
+  }
+
+  private static long hybridNot(long valueLong) {
+    if (isNumber(valueLong)) {
+      double result = -asNumber(valueLong) - 1;
+      if (isSafeInteger(result)) {
+        return fromSafeNumber(result);
+      }
+    }
+    return fromGoogLong(toNativeLong(toGoogLong(valueLong)).not());
+  }
+
+  private static long hybridDivide(long leftLong, long rightLong) {
+    if (isNumber(leftLong) && isNumber(rightLong)) {
+      // The quotient of two safe integers is exact enough for truncation to give the right result
+      // and its magnitude is not greater than the dividend's.
+      double quotient = asNumber(leftLong) / asNumber(rightLong);
+      return fromSafeNumber(quotient < 0 ? Math.ceil(quotient) : Math.floor(quotient));
+    }
+    return fromGoogLong(toNativeLong(toGoogLong(leftLong)).div(toGoogLong(rightLong)));
   }
 
+  private static boolean hybridEquals(long leftLong, long rightLong) {
+    if (isNumber(leftLong) && isNumber(rightLong)) {
+      return asNumber(leftLong) == asNumber(rightLong);
+    }
+    return toNativeLong(toGoogLong(leftLong)).equals(toNativeLong(toGoogLong(rightLong)));
+  }
+
+  private static boolean hybridGreater(long leftLong, long rightLong) {
+    return hybridCompare(leftLong, rightLong) > 0;
+  }
+
+  private static boolean hybridGreaterEquals(long leftLong, long rightLong) {
+    return hybridCompare(leftLong, rightLong) >= 0;
+  }
+
+  private static long hybridLeftShift(long valueLong, int numBits) {
+    if (isNumber(valueLong)) {
+      double result = asNumber(valueLong) * Math.pow(2, numBits & 63);
+      if (isSafeInteger(result)) {
+        return fromSafeNumber(result);
+      }
+    }
+    return fromGoogLong(toNativeLong(toGoogLong(valueLong)).shiftLeft(numBits));
+  }
+
+  private static boolean hybridLess(long leftLong, long rightLong) {
+    return hybridCompare(leftLong, rightLong) < 0;
+  }
+
+  private static boolean hybridLessEquals(long leftLong, long rightLong) {
+    return hybridCompare(leftLong, rightLong) <= 0;
+  }
+
+  private static long hybridMinus(long leftLong, long rightLong) {
+    if (isNumber(leftLong) && isNumber(rightLong)) {
+      double result = asNumber(leftLong) - asNumber(rightLong);
+      if (isSafeInteger(result)) {
+        return fromSafeNumber(result);
+      }
+    }
+    return fromGoogLong(toNativeLong(toGoogLong(leftLong)).subtract(toGoogLong(rightLong)));
+  }
+
+  private static long hybridNegate(long valueLong) {
+    if (isNumber(valueLong)) {
+      return fromSafeNumber(-asNumber(valueLong));
+    }
+    return fromGoogLong(toNativeLong(valueLong).negate());
+  }
+
+  private static boolean hybridNotEquals(long leftLong, long rightLong) {
+    return !hybridEquals(leftLong, rightLong);
+  }
+
+  private static long hybridBitOr(long leftLong, long rightLong) {
+    if (isInt32(leftLong) && isInt32(rightLong)) {
+      return fromSafeNumber(toInt32(asNumber(leftLong)) | toInt32(asNumber(rightLong)));
+    }
+    return fromGoogLong(toNativeLong(toGoogLong(leftLong)).or(toGoogLong(rightLong)));
+  }
+
+  private static long hybridPlus(long leftLong, long rightLong) {
+    if (isNumber(leftLong) && isNumber(rightLong)) {
+      double result = asNumber(leftLong) + asNumber(rightLong);
+      if (isSafeInteger(result)) {
+        return fromSafeNumber(result);
+      }
+    }
+    return fromGoogLong(toNativeLong(toGoogLong(leftLong)).add(toGoogLong(rightLong)));
+  }
+
+  private static long hybridRemainder(long leftLong, long rightLong) {
+    if (isNumber(leftLong) && isNumber(rightLong)) {
+      // The remainder of integers is exact and has the sign of the dividend, as in Java.
+      return fromSafeNumber(asNumber(leftLong) % asNumber(rightLong));
+    }
+    return fromGoogLong(toNativeLong(toGoogLong(leftLong)).modulo(toGoogLong(rightLong)));
+  }
+
+  private static long hybridRightShiftSigned(long valueLong, int numBits) {
+    if (isNumber(valueLong)) {
+      return fromSafeNumber(Math.floor(asNumber(valueLong) / Math.pow(2, numBits & 63)));
+    }
+    return fromGoogLong(toNativeLong(valueLong).shiftRight(numBits));
+  }
+
+  private static long hybridRightShiftUnsigned(long valueLong, int numBits) {
+    if (isNumber(valueLong) && (asNumber(valueLong) >= 0 || (numBits & 63) == 0)) {
+      return hybridRightShiftSigned(valueLong, numBits);
+    }
+    return fromGoogLong(toNativeLong(toGoogLong(valueLong)).shiftRightUnsigned(numBits));
+  }
+
+  private static long hybridTimes(long leftLong, long rightLong) {
+    if (isNumber(leftLong) && isNumber(rightLong)) {
+      // If the exact product is a safe integer the computed one is exact as well.
+      double result = asNumber(leftLong) * asNumber(rightLong);
+      if (isSafeInteger(result)) {
+        return fromSafeNumber(result);
+      }
+    }
+    return fromGoogLong(toNativeLong(toGoogLong(leftLong)).multiply(toGoogLong(rightLong)));
+  }
+
+  private static long hybridBitXor(long leftLong, long rightLong) {
+    if (isInt32(leftLong) && isInt32(rightLong)) {
+      return fromSafeNumber(toInt32(asNumber(leftLong)) ^ toInt32(asNumber(rightLong)));
+    }
+    return fromGoogLong(toNativeLong(toGoogLong(leftLong)).xor(toGoogLong(rightLong)));
+  }
+
+  private static int hybridGetHighBits(long valueLong) {
+    if (isNumber(valueLong)) {
+      return toInt32(Math.floor(asNumber(valueLong) / TWO_PWR_32_DBL));
+    }
+    return toNativeLong(valueLong).getHighBits();
+  }
+
+  private static int hybridGetLowBits(long valueLong) {
+    if (isNumber(valueLong)) {
+      return toInt32(asNumber(valueLong));
+    }
+    return toNativeLong(valueLong).getLowBits();
+  }
+
+  private static String hybridToString(long valueLong, int radix) {
+    if (isNumber(valueLong)) {
+      return numberToString(asNumber(valueLong), radix);
+    }
+    return toNativeLong(valueLong).toString(radix);
+  }
+
+  private static boolean isInt32(long value) {
+    return isNumber(value) && asNumber(value) == toInt32(asNumber(value));
+  }
+
+  /** Returns the goog.math.Long representation of {@code value}. */
+  private static long toGoogLong(long value) {
+    return isNumber(value) ? NativeLong.fromNumber(asNumber(value)) : value;
+  }
+
+  /** Returns the normalized representation of a goog.math.Long {@code value}. */
+  private static long fromGoogLong(long value) {
+    double number = toNativeLong(value).toNumber();
+    return isSafeInteger(number) ? fromSafeNumber(number) : value;
+  }
+
+  private static native boolean isNumber(long value);
+
+  private static native double asNumber(long value);
+
+  /** Returns {@code value} as a long, normalizing -0 to 0. */
+  private static native long fromSafeNumber(double value);
+
+  private static native boolean isSafeInteger(double value);
+
+  private static native int toInt32(double value);
+
+  private static native String numberToString(double value, int radix);
+
   private static NativeLong toNativeLong(@DoNotAutobox Object l) {
     return JsUtils.uncheckedCast(l);
   }
@@ -0,0 +1,337 @@
+/*
+ * Copyright 2022 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+// Note that longs are typed as unknown since the Java signatures declare them
+// as goog.math.Long. All results are wrapped with BigInt.asIntN(64, ...) to
+// preserve the 64 bit two's complement semantics of Java longs.
+
+/**
+ * @param {number} lowBits
+ * @param {number} highBits
+ * @return {?}
+ */
+$LongUtils.bigIntFromBits = function(lowBits, highBits) {
+  return BigInt.asIntN(
+      64, (BigInt(highBits) << BigInt(32)) | BigInt(lowBits >>> 0));
+};
+
+/**
+ * @param {?} a
+ * @param {?} b
+ * @return {number}
+ */
+$LongUtils.bigIntCompare = function(a, b) {
+  return a < b ? -1 : (a > b ? 1 : 0);
+};
+
+/**
+ * @param {number} value
+ * @return {?}
+ */
+$LongUtils.bigIntFromInt = function(value) {
+  return BigInt(value | 0);
+};
+
+/**
+ * @param {number} value
+ * @return {?}
+ */
+$LongUtils.bigIntFromNumber = function(value) {
+  // Follow the Java semantics for narrowing a double to a long.
+  if (isNaN(value)) {
+    return BigInt(0);
+  }
+  if (value <= -9223372036854775808) {
+    return BigInt.asIntN(64, BigInt(1) << BigInt(63));
+  }
+  if (value >= 9223372036854775807) {
+    return BigInt.asIntN(64, (BigInt(1) << BigInt(63)) - BigInt(1));
+  }
+  return BigInt(Math.trunc(value));
+};
+
+/**
+ * @param {?} value
+ * @return {number}
+ */
+$LongUtils.bigIntToInt = function(value) {
+  return Number(BigInt.asIntN(32, value));
+};
+
+/**
+ * @param {?} value
+ * @return {number}
+ */
+$LongUtils.bigIntToNumber = function(value) {
+  return Number(value);
+};
+
+/**
+ * @param {?} leftLong
+ * @param {?} rightLong
+ * @return {?}
+ */
+$LongUtils.bigIntBitAnd = function(leftLong, rightLong) {
+  return leftLong & rightLong;
+};
+
+/**
+ * @param {?} valueLong
+ * @return {?}
+ */
+$LongUtils.bigIntNot = function(valueLong) {
+  return ~valueLong;
+};
+
+/**
+ * @param {?} leftLong
+ * @param {?} rightLong
+ * @return {?}
+ */
+$LongUtils.bigIntDivide = function(leftLong, rightLong) {
+  // Wrapping takes care of Long.MIN_VALUE / -1, which overflows in Java.
+  return BigInt.asIntN(64, leftLong / rightLong);
+};
+
+/**
+ * @param {?} leftLong
+ * @param {?} rightLong
+ * @return {boolean}
+ */
+$LongUtils.bigIntEquals = function(leftLong, rightLong) {
+  return leftLong === rightLong;
+};
+
+/**
+ * @param {?} leftLong
+ * @param {?} rightLong
+ * @return {boolean}
+ */
+$LongUtils.bigIntGreater = function(leftLong, rightLong) {
+  return leftLong > rightLong;
+};
+
+/**
+ * @param {?} leftLong
+ * @param {?} rightLong
+ * @return {boolean}
+ */
+$LongUtils.bigIntGreaterEquals = function(leftLong, rightLong) {
+  return leftLong >= rightLong;
+};
+
+/**
+ * @param {?} valueLong
+ * @param {number} numBits
+ * @return {?}
+ */
+$LongUtils.bigIntLeftShift = function(valueLong, numBits) {
+  return BigInt.asIntN(64, valueLong << BigInt(numBits & 63));
+};
+
+/**
+ * @param {?} leftLong
+ * @param {?} rightLong
+ * @return {boolean}
+ */
+$LongUtils.bigIntLess = function(leftLong, rightLong) {
+  return leftLong < rightLong;
+};
+
+/**
+ * @param {?} leftLong
+ * @param {?} rightLong
+ * @return {boolean}
+ */
+$LongUtils.bigIntLessEquals = function(leftLong, rightLong) {
+  return leftLong <= rightLong;
+};
+
+/**
+ * @param {?} leftLong
+ * @param {?} rightLong
+ * @return {?}
+ */
+$LongUtils.bigIntMinus = function(leftLong, rightLong) {
+  return BigInt.asIntN(64, leftLong - rightLong);
+};
+
+/**
+ * @param {?} valueLong
+ * @return {?}
+ */
+$LongUtils.bigIntNegate = function(valueLong) {
+  return BigInt.asIntN(64, -valueLong);
+};
+
+/**
+ * @param {?} leftLong
+ * @param {?} rightLong
+ * @return {boolean}
+ */
+$LongUtils.bigIntNotEquals = function(leftLong, rightLong) {
+  return leftLong !== rightLong;
+};
+
+/**
+ * @param {?} leftLong
+ * @param {?} rightLong
+ * @return {?}
+ */
+$LongUtils.bigIntBitOr = function(leftLong, rightLong) {
+  return leftLong | rightLong;
+};
+
+/**
+ * @param {?} leftLong
+ * @param {?} rightLong
+ * @return {?}
+ */
+$LongUtils.bigIntPlus = function(leftLong, rightLong) {
+  return BigInt.asIntN(64, leftLong + rightLong);
+};
+
+/**
+ * @param {?} leftLong
+ * @param {?} rightLong
+ * @return {?}
+ */
+$LongUtils.bigIntRemainder = function(leftLong, rightLong) {
+  return leftLong % rightLong;
+};
+
+/**
+ * @param {?} valueLong
+ * @param {number} numBits
+ * @return {?}
+ */
+$LongUtils.bigIntRightShiftSigned = function(valueLong, numBits) {
+  return valueLong >> BigInt(numBits & 63);
+};
+
+/**
+ * @param {?} valueLong
+ * @param {number} numBits
+ * @return {?}
+ */
+$LongUtils.bigIntRightShiftUnsigned = function(valueLong, numBits) {
+  return BigInt.asIntN(
+      64, BigInt.asUintN(64, valueLong) >> BigInt(numBits & 63));
+};
+
+/**
+ * @param {?} leftLong
+ * @param {?} rightLong
+ * @return {?}
+ */
+$LongUtils.bigIntTimes = function(leftLong, rightLong) {
+  return BigInt.asIntN(64, leftLong * rightLong);
+};
+
+/**
+ * @param {?} leftLong
+ * @param {?} rightLong
+ * @return {?}
+ */
+$LongUtils.bigIntBitXor = function(leftLong, rightLong) {
+  return leftLong ^ rightLong;
+};
+
+/**
+ * @param {?} valueLong
+ * @return {number}
+ */
+$LongUtils.bigIntGetHighBits = function(valueLong) {
+  return Number(BigInt.asIntN(32, valueLong >> BigInt(32)));
+};
+
+/**
+ * @param {?} valueLong
+ * @return {number}
+ */
+$LongUtils.bigIntGetLowBits = function(valueLong) {
+  return Number(BigInt.asIntN(32, valueLong));
+};
+
+/**
+ * @param {?} valueLong
+ * @param {number} radix
+ * @return {string}
+ */
+$LongUtils.bigIntToString = function(valueLong, radix) {
+  return valueLong.toString(radix);
+};
+
+/**
+ * @param {?} value
+ * @return {boolean}
+ */
+$LongUtils.bigIntIsZero = function(value) {
+  return value === BigInt(0);
+};
+
+// The following helpers are used by the hybrid representation where longs
+// that are safe integers are plain numbers and the rest are goog.math.Long.
+
+/**
+ * @param {?} value
+ * @return {boolean}
+ */
+$LongUtils.isNumber = function(value) {
+  return typeof value == 'number';
+};
+
+/**
+ * @param {?} value
+ * @return {number}
+ */
+$LongUtils.asNumber = function(value) {
+  return /** @type {number} */ (value);
+};
+
+/**
+ * @param {number} value
+ * @return {?}
+ */
+$LongUtils.fromSafeNumber = function(value) {
+  // Adding 0 normalizes -0 to 0.
+  return value + 0;
+};
+
+/**
+ * @param {number} value
+ * @return {boolean}
+ */
+$LongUtils.isSafeInteger = function(value) {
+  return Number.isSafeInteger(value);
+};
+
+/**
+ * @param {number} value
+ * @return {number}
+ */
+$LongUtils.toInt32 = function(value) {
+  return value | 0;
+};
+
+/**
+ * @param {number} value
+ * @param {number} radix
+ * @return {string}
+ */
+$LongUtils.numberToString = function(value, radix) {
+  return value.toString(radix);
+};
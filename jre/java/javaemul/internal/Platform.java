@@ -83,6 +83,20 @@ public final class Platform {
   @JsMethod(name = "Number.prototype.toPrecision.call", namespace = JsPackage.GLOBAL)
   public static native String toPrecision(double value, int precision);
 
+  /**
+   * Whether {@code BigInteger} decimal conversions should go through JavaScript {@code BigInt}, as
+   * selected by {@code jre.bigIntegerConversion}.
+   */
+  public static boolean useNativeBigIntConversion() {
+    return System.getProperty("jre.bigIntegerConversion") == "BIGINT";
+  }
+
+  /** Converts a non-empty string of hexadecimal digits to decimal digits. */
+  public static native String hexToDecimalString(String hex);
+
+  /** Converts a non-empty string of decimal digits to hexadecimal digits. */
+  public static native String decimalToHexString(String decimal);
+
   @SuppressWarnings("StringEquality")
   public static boolean objectsStringEquals(String x, String y) {
     // In JS, strings have identity equality.
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2022 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package javaemul.internal;
+
+import jsinterop.annotations.JsPackage;
+import jsinterop.annotations.JsProperty;
+import jsinterop.annotations.JsType;
+
+/**
+ * A bounded cache of compiled regular expressions, so that String methods that take a regular
+ * expression do not compile it again on every call.
+ */
+public final class RegExpCache {
+
+  private static final int MAX_SIZE = 64;
+
+  @JsType(isNative = true, name = "Map", namespace = JsPackage.GLOBAL)
+  private static class NativeMap {
+    public native NativeRegExp get(String key);
+
+    public native void set(String key, NativeRegExp value);
+
+    public native boolean delete(String key);
+
+    @JsProperty
+    public native int getSize();
+
+    public native KeyIterator keys();
+  }
+
+  @JsType(isNative = true, name = "IteratorIterable", namespace = JsPackage.GLOBAL)
+  private interface KeyIterator {
+    KeyIteratorEntry next();
+  }
+
+  @JsType(isNative = true, name = "IIterableResult", namespace = JsPackage.GLOBAL)
+  private interface KeyIteratorEntry {
+    @JsProperty
+    String getValue();
+  }
+
+  /** The cached regular expressions, in least recently used order. */
+  private static NativeMap cache;
+
+  /**
+   * Returns the compiled regular expression for {@code regex} and {@code flags}.
+   *
+   * <p>The returned instance is shared, callers should not hold on to it and can not rely on its
+   * {@code lastIndex} across calls; it is reset to 0 every time it is returned.
+   */
+  public static NativeRegExp get(String regex, String flags) {
+    if (cache == null) {
+      cache = new NativeMap();
+    }
+
+    // Flags never contain '/', so the key is unambiguous.
+    String key = flags + "/" + regex;
+    NativeRegExp compiled = cache.get(key);
+    if (compiled == null) {
+      compiled = new NativeRegExp(regex, flags);
+      if (cache.getSize() >= MAX_SIZE) {
+        // Evict the least recently used entry, which is the first one in insertion order.
+        cache.delete(cache.keys().next().getValue());
+      }
+    } else {
+      // Reinsert the entry to move it to the end.
+      cache.delete(key);
+    }
+    cache.set(key, compiled);
+    compiled.setLastIndex(0);
+    return compiled;
+  }
+
+  private RegExpCache() {}
+}
@@ -89,6 +89,14 @@ class Arrays {
     if (length == null) {
       return null;
     }
+    if (dimensionLengths.length == 1 && leafTypeInitialValue !== undefined &&
+        length > 0) {
+      // Primitive leaf arrays are always fully initialized, so build them
+      // without holes. Other lengths go through new Array(length) below, which
+      // throws for negative lengths like it does for arrays of references.
+      return Arrays.$createPackedInternal_(
+          length, leafTypeInitialValue, metadata);
+    }
     // TODO(b/229137602): Use Array when it stops confusing JsCompiler.
     const array = new globalThis.Array(length);
     if (metadata) {
@@ -104,19 +112,41 @@ class Arrays {
         array[i] = Arrays.$createRecursiveInternal_(
             subDimensionLengths, leafTypeInitialValue, subComponentMetadata);
       }
-    } else {
-      // Contains leaf type values.
-      // We only initialize if initial value is different than JS default value.
-      if (leafTypeInitialValue !== undefined) {
-        for (let index = 0; index < length; index++) {
-          array[index] = leafTypeInitialValue;
-        }
-      }
     }
+    // Otherwise it contains leaf values whose initial value is the JS default
+    // value, i.e. undefined, which stands for null.
 
     return array;
   }
 
+  /**
+   * Creates a single dimension array filled with the given initial value.
+   *
+   * <p>Preallocating with new Array(length) creates a holey array (or, for
+   * large lengths, one with dictionary elements) that stays that way even
+   * after every index is filled, which makes all subsequent accesses slower.
+   * Growing the array element by element instead creates a packed array of the
+   * most specific elements kind for the initial value, e.g. small integers for
+   * numeric primitive arrays.
+   *
+   * @param {number} length
+   * @param {*} initialValue
+   * @param {Arrays.Metadata_} metadata
+   * @return {Array<*>}
+   * @private
+   */
+  static $createPackedInternal_(length, initialValue, metadata) {
+    // TODO(b/229137602): Use Array when it stops confusing JsCompiler.
+    const array = new globalThis.Array();
+    for (let index = 0; index < length; index++) {
+      array.push(initialValue);
+    }
+    if (metadata) {
+      array.$$arrayMetadata = metadata;
+    }
+    return array;
+  }
+
   /**
    * Returns the given array after marking it with known # of dimensions and
    * leafType.
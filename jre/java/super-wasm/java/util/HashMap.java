@@ -143,6 +143,43 @@ public class HashMap<K, V> extends AbstractMap<K, V> implements Cloneable, Seria
     return h ^ (h >>> 16);
   }
 
+  /**
+   * Returns the hash of a non-null key.
+   *
+   * <p>Integer and Long keys are by far the most common in hot maps; handling them explicitly
+   * avoids the dynamic dispatch of {@code hashCode()} through the vtable in Wasm. The result is the
+   * same as {@code secondaryHash(key.hashCode())}.
+   */
+  static int hash(Object key) {
+    if (key instanceof Integer) {
+      return secondaryHash(Integer.hashCode(((Integer) key).intValue()));
+    }
+    if (key instanceof Long) {
+      return secondaryHash(Long.hashCode(((Long) key).longValue()));
+    }
+    return secondaryHash(key.hashCode());
+  }
+
+  /**
+   * Returns true if the non-null {@code key} is equal to {@code otherKey}.
+   *
+   * <p>Like {@link #hash}, avoids the dynamic dispatch of {@code equals()} for Integer and Long
+   * keys.
+   */
+  static boolean isSameKey(Object key, Object otherKey) {
+    if (key == otherKey) {
+      return true;
+    }
+    if (key instanceof Integer) {
+      return otherKey instanceof Integer
+          && ((Integer) key).intValue() == ((Integer) otherKey).intValue();
+    }
+    if (key instanceof Long) {
+      return otherKey instanceof Long && ((Long) key).longValue() == ((Long) otherKey).longValue();
+    }
+    return key.equals(otherKey);
+  }
+
   /**
    * Inserts all of the elements of map into this HashMap in a manner suitable for use by
    * constructors and pseudo-constructors (i.e., clone, readObject). Also used by LinkedHashMap.
@@ -190,11 +227,11 @@ public class HashMap<K, V> extends AbstractMap<K, V> implements Cloneable, Seria
       HashMapEntry<K, V> e = entryForNullKey;
       return e == null ? defaultValue : e.value;
     }
-    int hash = secondaryHash(key.hashCode());
+    int hash = hash(key);
     HashMapEntry<K, V>[] tab = table;
     for (HashMapEntry<K, V> e = tab[hash & (tab.length - 1)]; e != null; e = e.next) {
       K eKey = e.key;
-      if (eKey == key || (e.hash == hash && key.equals(eKey))) {
+      if (e.hash == hash && isSameKey(key, eKey)) {
         return e.value;
       }
     }
@@ -206,11 +243,11 @@ public class HashMap<K, V> extends AbstractMap<K, V> implements Cloneable, Seria
     if (key == null) {
       return entryForNullKey != null;
     }
-    int hash = secondaryHash(key.hashCode());
+    int hash = hash(key);
     HashMapEntry<K, V>[] tab = table;
     for (HashMapEntry<K, V> e = tab[hash & (tab.length - 1)]; e != null; e = e.next) {
       K eKey = e.key;
-      if (eKey == key || (e.hash == hash && key.equals(eKey))) {
+      if (e.hash == hash && isSameKey(key, eKey)) {
         return true;
       }
     }
@@ -246,11 +283,11 @@ public class HashMap<K, V> extends AbstractMap<K, V> implements Cloneable, Seria
     if (key == null) {
       return computeValueForNullKeyIfAbsent(remappingFunction);
     }
-    int hash = secondaryHash(key.hashCode());
+    int hash = hash(key);
     HashMapEntry<K, V>[] tab = table;
     int index = hash & (tab.length - 1);
     for (HashMapEntry<K, V> e = tab[index]; e != null; e = e.next) {
-      if (e.hash == hash && key.equals(e.key)) {
+      if (e.hash == hash && isSameKey(key, e.key)) {
         return e.value;
       }
     }
@@ -281,11 +318,11 @@ public class HashMap<K, V> extends AbstractMap<K, V> implements Cloneable, Seria
     if (key == null) {
       return putValueForNullKey(value, onlyIfAbsent);
     }
-    int hash = secondaryHash(key.hashCode());
+    int hash = hash(key);
     HashMapEntry<K, V>[] tab = table;
     int index = hash & (tab.length - 1);
     for (HashMapEntry<K, V> e = tab[index]; e != null; e = e.next) {
-      if (e.hash == hash && (key == e.key || key.equals(e.key))) {
+      if (e.hash == hash && isSameKey(key, e.key)) {
         V oldValue = e.value;
         if (onlyIfAbsent) {
           return oldValue;
@@ -356,12 +393,12 @@ public class HashMap<K, V> extends AbstractMap<K, V> implements Cloneable, Seria
       }
       return;
     }
-    int hash = secondaryHash(key.hashCode());
+    int hash = hash(key);
     HashMapEntry<K, V>[] tab = table;
     int index = hash & (tab.length - 1);
     HashMapEntry<K, V> first = tab[index];
     for (HashMapEntry<K, V> e = first; e != null; e = e.next) {
-      if (e.hash == hash && (key == e.key || key.equals(e.key))) {
+      if (e.hash == hash && isSameKey(key, e.key)) {
         e.value = value;
         return;
       }
@@ -504,11 +541,11 @@ public class HashMap<K, V> extends AbstractMap<K, V> implements Cloneable, Seria
     if (key == null) {
       return removeNullKey();
     }
-    int hash = secondaryHash(key.hashCode());
+    int hash = hash(key);
     HashMapEntry<K, V>[] tab = table;
     int index = hash & (tab.length - 1);
     for (HashMapEntry<K, V> e = tab[index], prev = null; e != null; prev = e, e = e.next) {
-      if (e.hash == hash && (key == e.key || key.equals(e.key))) {
+      if (e.hash == hash && isSameKey(key, e.key)) {
         if (prev == null) {
           tab[index] = e.next;
         } else {
@@ -693,11 +730,11 @@ public class HashMap<K, V> extends AbstractMap<K, V> implements Cloneable, Seria
       HashMapEntry<K, V> e = entryForNullKey;
       return e != null && value.equals(e.value);
     }
-    int hash = secondaryHash(key.hashCode());
+    int hash = hash(key);
     HashMapEntry<K, V>[] tab = table;
     int index = hash & (tab.length - 1);
     for (HashMapEntry<K, V> e = tab[index]; e != null; e = e.next) {
-      if (e.hash == hash && (key == e.key || key.equals(e.key))) {
+      if (e.hash == hash && isSameKey(key, e.key)) {
         return value.equals(e.value);
       }
     }
@@ -720,11 +757,11 @@ public class HashMap<K, V> extends AbstractMap<K, V> implements Cloneable, Seria
       postRemove(e);
       return true;
     }
-    int hash = secondaryHash(key.hashCode());
+    int hash = hash(key);
     HashMapEntry<K, V>[] tab = table;
     int index = hash & (tab.length - 1);
     for (HashMapEntry<K, V> e = tab[index], prev = null; e != null; prev = e, e = e.next) {
-      if (e.hash == hash && (key == e.key || key.equals(e.key))) {
+      if (e.hash == hash && isSameKey(key, e.key)) {
         if (value != e.value && !value.equals(e.value)) {
           return false; // Map has wrong value for key
         }
@@ -148,11 +148,11 @@ public class LinkedHashMap<K, V> extends HashMap<K, V> {
       }
       return e.value;
     }
-    int hash = secondaryHash(key.hashCode());
+    int hash = hash(key);
     HashMapEntry<K, V>[] tab = table;
     for (HashMapEntry<K, V> e = tab[hash & (tab.length - 1)]; e != null; e = e.next) {
       K eKey = e.key;
-      if (eKey == key || (e.hash == hash && key.equals(eKey))) {
+      if (e.hash == hash && isSameKey(key, eKey)) {
         if (accessOrder) {
           makeTail((LinkedEntry<K, V>) e);
         }
@@ -204,30 +204,5 @@ public final class ArrayHelper {
     return (WasmArray) obj;
   }
 
-  /** Compare function for sort. */
-  public interface CompareFunction {
-    double compare(Object d1, Object d2);
-  }
-
-  public static void sort(Object array, CompareFunction fn) {
-    // TODO(b/194677447): Implement Arrays.sort in WASM.
-    throw new UnsupportedOperationException();
-  }
-
-  public static CompareFunction getIntComparator() {
-    // TODO(b/194677447): Implement Arrays.sort in WASM.
-    return null;
-  }
-
-  public static CompareFunction getDoubleComparator() {
-    // TODO(b/194677447): Implement Arrays.sort in WASM.
-    return null;
-  }
-
-  public static CompareFunction getLongComparator() {
-    // TODO(b/194677447): Implement Arrays.sort in WASM.
-    return null;
-  }
-
   private ArrayHelper() {}
 }
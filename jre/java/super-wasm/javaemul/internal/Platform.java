@@ -51,6 +51,19 @@ public final class Platform {
   @JsMethod(name = "Number.toPrecision", namespace = JsPackage.GLOBAL)
   private static native String.NativeString nativeToPrecision(double value, int precision);
 
+  public static boolean useNativeBigIntConversion() {
+    return false;
+  }
+
+  // Unreachable since the native conversion is disabled above.
+  public static String hexToDecimalString(String hex) {
+    throw new AssertionError();
+  }
+
+  public static String decimalToHexString(String decimal) {
+    throw new AssertionError();
+  }
+
   public static boolean objectsStringEquals(String x, String y) {
     return (x == y) || (x != null && x.equals(y));
   }
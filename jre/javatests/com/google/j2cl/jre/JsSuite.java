@@ -15,6 +15,7 @@
  */
 package com.google.j2cl.jre;
 
+import com.google.j2cl.jre.java.lang.JsArrayTest;
 import com.google.j2cl.jre.java.lang.JsExceptionTest;
 import com.google.j2cl.jre.java.lang.JsStringTest;
 import com.google.j2cl.jre.java.lang.JsThrowableTest;
@@ -25,6 +26,7 @@ import org.junit.runners.Suite.SuiteClasses;
 /** Test JRE emulations only in JS. */
 @RunWith(Suite.class)
 @SuiteClasses({
+  JsArrayTest.class,
   JsExceptionTest.class,
   JsThrowableTest.class,
   JsStringTest.class,
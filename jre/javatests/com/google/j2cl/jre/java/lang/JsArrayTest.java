@@ -0,0 +1,66 @@
+/*
+ * Copyright 2022 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.j2cl.jre.java.lang;
+
+import com.google.gwt.junit.client.GWTTestCase;
+
+/** Tests the creation of arrays in the JS runtime. */
+public final class JsArrayTest extends GWTTestCase {
+  @Override
+  public String getModuleName() {
+    return "com.google.gwt.emultest.EmulSuite";
+  }
+
+  public void testCreate() {
+    int[] ints = new int[length(3)];
+    assertEquals(3, ints.length);
+    assertEquals(0, ints[2]);
+
+    boolean[] booleans = new boolean[length(0)];
+    assertEquals(0, booleans.length);
+
+    long[][] longs = new long[length(2)][length(2)];
+    assertEquals(2, longs[1].length);
+    assertEquals(0L, longs[1][1]);
+  }
+
+  // Negative lengths throw a RangeError from the JS runtime rather than a
+  // NegativeArraySizeException, but they need to throw for every kind of array.
+  public void testCreate_negativeLength() {
+    try {
+      int[] ints = new int[length(-1)];
+      fail();
+    } catch (RuntimeException expected) {
+    }
+
+    try {
+      double[][] doubles = new double[length(1)][length(-1)];
+      fail();
+    } catch (RuntimeException expected) {
+    }
+
+    try {
+      Object[] objects = new Object[length(-1)];
+      fail();
+    } catch (RuntimeException expected) {
+    }
+  }
+
+  // Keeps the lengths from being known at compile time.
+  private static int length(int length) {
+    return length;
+  }
+}
@@ -219,6 +219,25 @@ public class StringBufferTest extends GWTTestCase {
     assertEquals("12345", x.toString());
   }
 
+  /** This method does interleaved in place edits, appends and reads. */
+  public void testInterleavedEditsAndAppends() {
+    StringBuilder x = new StringBuilder("abc");
+    x.setCharAt(0, 'A');
+    x.append("def");
+    assertEquals('A', x.charAt(0));
+    assertEquals(6, x.length());
+    x.deleteCharAt(x.length() - 1);
+    x.append(1).append('!').insert(1, "--");
+    assertEquals("A--bcde1!", x.toString());
+    x.setCharAt(x.length() - 1, '?');
+    x.setLength(3);
+    x.append(x);
+    assertEquals("A--A--", x.toString());
+    x.replace(1, 5, "").append((String) null);
+    assertEquals("A-null", x.toString());
+    assertEquals(2, x.indexOf("n"));
+  }
+
   /**
    * This method tests <code>lastIndexOf</code>.
    */
@@ -335,6 +354,16 @@ public class StringBufferTest extends GWTTestCase {
     x.setLength(5);
     assertEquals(5, x.length());
     assertEquals("abcde", x.toString());
+
+    // Switch to buffer mode to verify that it is not corrupted by an invalid length either.
+    x.setCharAt(0, 'A');
+    try {
+      x.setLength(-1);
+      fail();
+    } catch (IndexOutOfBoundsException expected) {
+    }
+    assertEquals(5, x.length());
+    assertEquals("Abcde", x.toString());
   }
 
   /**
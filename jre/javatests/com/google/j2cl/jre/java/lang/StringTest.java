@@ -835,6 +835,10 @@ public class StringTest extends GWTTestCase {
         0));
     // issue 2742
     compareList("issue2742", new String[] {}, hideFromCompiler("/").split("/", 0));
+    // Single characters that are regex metacharacters are not split on literally.
+    compareList("dot", new String[] {}, hideFromCompiler("a.b").split("."));
+    compareList("escapedDot", new String[] {"a", "b"}, hideFromCompiler("a.b").split("\\."));
+    compareList("escapedDotAgain", new String[] {"c", "d"}, hideFromCompiler("c.d").split("\\."));
 
     // Splitting an empty string should result in an array containing a single
     // empty string.
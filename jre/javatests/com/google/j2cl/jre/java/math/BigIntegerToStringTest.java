@@ -165,4 +165,69 @@ public class BigIntegerToStringTest extends EmulTestBase {
     String result = aNumber.toString(45);
     assertTrue(result.equals(value));
   }
+
+  /**
+   * test numbers large enough to be converted recursively.
+   */
+  public void testLargeDecimal() {
+    StringBuilder digits = new StringBuilder("-9");
+    for (int i = 0; i < 1000; i++) {
+      digits.append(i % 7 == 0 ? "000000000" : String.valueOf(i));
+    }
+    String value = digits.toString();
+    BigInteger aNumber = new BigInteger(value);
+    assertEquals(value, aNumber.toString());
+    assertEquals(value.substring(1), aNumber.negate().toString());
+
+    BigInteger power = BigInteger.TEN.pow(1500);
+    assertEquals(power, new BigInteger(power.toString()));
+    assertEquals(1501, power.toString().length());
+    assertEquals(1500, power.subtract(BigInteger.ONE).toString().length());
+  }
+
+  /**
+   * test numbers with a leading '+', both small and large enough to be converted recursively.
+   */
+  public void testLeadingPlus() {
+    assertEquals(BigInteger.valueOf(5), new BigInteger("+5"));
+    assertEquals(BigInteger.valueOf(255), new BigInteger("+ff", 16));
+
+    StringBuilder digits = new StringBuilder("9");
+    for (int i = 0; i < 1000; i++) {
+      digits.append(i % 10);
+    }
+    String value = digits.toString();
+    assertEquals(new BigInteger(value), new BigInteger("+" + value));
+    assertEquals(value, new BigInteger("+" + value).toString());
+
+    try {
+      new BigInteger("+");
+      fail();
+    } catch (NumberFormatException expected) {
+    }
+    try {
+      new BigInteger("+-5");
+      fail();
+    } catch (NumberFormatException expected) {
+    }
+    try {
+      new BigInteger("-+" + value);
+      fail();
+    } catch (NumberFormatException expected) {
+    }
+  }
+
+  /**
+   * test large number of radix 36.
+   */
+  public void testLargeRadix36() {
+    StringBuilder digits = new StringBuilder("z");
+    for (int i = 0; i < 500; i++) {
+      digits.append(Integer.toString(i * 7919, 36));
+    }
+    String value = digits.toString();
+    BigInteger aNumber = new BigInteger(value, 36);
+    assertEquals(value, aNumber.toString(36));
+    assertEquals(aNumber, new BigInteger(aNumber.toString()));
+  }
 }
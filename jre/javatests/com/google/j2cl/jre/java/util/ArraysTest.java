@@ -1388,6 +1388,50 @@ public class ArraysTest extends EmulTestBase {
     assertTrue(Float.isNaN(array[10]));
   }
 
+  /** Tests sorting of arrays large enough to not be sorted with insertion sort. */
+  public void testLargePrimitiveSort() {
+    int[] ints = new int[100];
+    long[] longs = new long[100];
+    short[] shorts = new short[100];
+    for (int i = 0; i < ints.length; i++) {
+      ints[i] = (i * 7919) % 100 - 50;
+      longs[i] = ints[i] * 0x100000000L;
+      shorts[i] = (short) (ints[i] * 600);
+    }
+    ints[0] = Integer.MIN_VALUE;
+    ints[1] = Integer.MAX_VALUE;
+    Arrays.sort(ints);
+    Arrays.sort(longs);
+    Arrays.sort(shorts);
+    assertEquals(Integer.MIN_VALUE, ints[0]);
+    assertEquals(Integer.MAX_VALUE, ints[99]);
+    for (int i = 1; i < ints.length; i++) {
+      assertTrue(ints[i - 1] <= ints[i]);
+      assertTrue(longs[i - 1] <= longs[i]);
+      assertTrue(shorts[i - 1] <= shorts[i]);
+    }
+  }
+
+  /** Tests that -0.0 is sorted before 0.0. */
+  public void testDoubleSortSignedZeros() {
+    double[] array = new double[40];
+    for (int i = 0; i < array.length; i++) {
+      array[i] = i % 3 == 0 ? 0.0 : i % 3 == 1 ? -0.0 : Double.NaN;
+    }
+    array[0] = -1;
+    Arrays.sort(array);
+    assertEquals(-1.0, array[0]);
+    for (int i = 1; i <= 13; i++) {
+      assertTrue(1 / array[i] < 0);
+    }
+    for (int i = 14; i <= 26; i++) {
+      assertTrue(1 / array[i] > 0);
+    }
+    for (int i = 27; i < array.length; i++) {
+      assertTrue(Double.isNaN(array[i]));
+    }
+  }
+
 
 
   /**
@@ -1516,6 +1560,24 @@ public class ArraysTest extends EmulTestBase {
     }
   }
 
+  /** Verifies that equal values retain their original order when runs are merged. */
+  public void testLargeStableSort() {
+    TestObject[] array = new TestObject[200];
+    for (int i = 0; i < array.length; i++) {
+      // Ascending and descending runs of repeated values.
+      array[i] = new TestObject((i / 50) % 2 == 0 ? (i % 50) / 3 : (50 - i % 50) / 3);
+    }
+    Arrays.sort(array, Comparator.comparingInt(TestObject::getValue));
+    for (int i = 1; i < array.length; i++) {
+      TestObject prev = array[i - 1];
+      TestObject cur = array[i];
+      assertTrue(prev.getValue() <= cur.getValue());
+      if (prev.getValue() == cur.getValue()) {
+        assertTrue(prev.getIndex() < cur.getIndex());
+      }
+    }
+  }
+
   public void testDeepToString() {
     assertEquals("[1, 2, Hello]", Arrays.deepToString(new Object[]{1, 2L, "Hello"}));
 
@@ -153,6 +153,42 @@ public class EnumSetTest extends TestSet {
   public void testClone() {
     EnumSet<Numbers> nums = EnumSet.of(Numbers.One, Numbers.Zero);
     assertNotSame(nums, nums.clone());
+
+    EnumSet<Numbers> empty = EnumSet.noneOf(Numbers.class);
+    EnumSet<Numbers> emptyClone = empty.clone();
+    emptyClone.add(Numbers.One);
+    assertTrue(empty.isEmpty());
+    assertEquals(1, emptyClone.size());
+  }
+
+  // Ordinals that do not fit in the first 32 bit word.
+  public void testLargeOrdinals() {
+    EnumSet<Numbers> nums = EnumSet.of(Numbers.Thirtyfour, Numbers.ThirtyOne, Numbers.ThirtyTwo);
+    assertIteration(
+        Arrays.asList(Numbers.ThirtyOne, Numbers.ThirtyTwo, Numbers.Thirtyfour), nums);
+    assertTrue(nums.contains(Numbers.ThirtyTwo));
+    assertFalse(nums.contains(Numbers.ThirtyThree));
+    assertFalse(nums.contains(FalseEnum.One));
+
+    assertTrue(nums.remove(Numbers.ThirtyTwo));
+    assertFalse(nums.remove(Numbers.ThirtyTwo));
+    assertEquals(2, nums.size());
+    assertIteration(Arrays.asList(Numbers.ThirtyOne, Numbers.Thirtyfour), nums);
+  }
+
+  @SuppressWarnings({"rawtypes", "unchecked"})
+  public void testAdd_otherEnum() {
+    EnumSet nums = EnumSet.of(Numbers.One);
+    try {
+      nums.add(FalseEnum.One);
+      fail();
+    } catch (ClassCastException expected) {
+    }
+    assertEquals(1, nums.size());
+    assertFalse(nums.contains(FalseEnum.One));
+    assertIteration(Arrays.asList(Numbers.One), nums);
+    assertTrue(nums.remove(Numbers.One));
+    assertTrue(nums.isEmpty());
   }
 
   // According to EnumSet Javadoc:
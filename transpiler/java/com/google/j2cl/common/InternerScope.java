@@ -0,0 +1,71 @@
+/*
+ * Copyright 2022 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.j2cl.common;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The scope within which {@link ScopedInterner}s return canonical instances, typically a single
+ * compilation.
+ *
+ * <p>Several threads can be in the same scope at once, which lets the work for a compilation be
+ * spread across threads that still share canonical instances. Instances are only weakly held, so
+ * the ones that are no longer referenced can be collected even while the scope is in use. Threads
+ * that have not entered a scope use a scope of their own.
+ */
+public final class InternerScope {
+  private static final ThreadLocal<InternerScope> currentScope =
+      ThreadLocal.withInitial(InternerScope::new);
+
+  /** Restores the scope that the thread was in before entering a scope. */
+  public interface Entry extends AutoCloseable {
+    @Override
+    void close();
+  }
+
+  public static InternerScope create() {
+    return new InternerScope();
+  }
+
+  static InternerScope current() {
+    return currentScope.get();
+  }
+
+  private final ConcurrentMap<ScopedInterner<?>, Interner<?>> internerByScopedInterner =
+      new ConcurrentHashMap<>();
+
+  private InternerScope() {}
+
+  /** Makes this the scope of the current thread until the returned entry is closed. */
+  public Entry enter() {
+    InternerScope previousScope = currentScope.get();
+    currentScope.set(this);
+    return () -> currentScope.set(previousScope);
+  }
+
+  @SuppressWarnings("unchecked")
+  <T> Interner<T> getInterner(ScopedInterner<T> scopedInterner) {
+    Interner<?> interner = internerByScopedInterner.get(scopedInterner);
+    if (interner == null) {
+      interner =
+          internerByScopedInterner.computeIfAbsent(scopedInterner, k -> Interners.newWeakInterner());
+    }
+    return (Interner<T>) interner;
+  }
+}
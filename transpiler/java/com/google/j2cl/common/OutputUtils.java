@@ -30,6 +30,8 @@ import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.nio.file.attribute.BasicFileAttributeView;
 import java.nio.file.attribute.FileTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import javax.annotation.Nullable;
@@ -42,6 +44,8 @@ public class OutputUtils {
     private final ExecutorService fileService = Executors.newSingleThreadExecutor();
     private final Problems problems;
     private final Path root;
+    @Nullable private Map<String, String> recordedOutputs;
+    private boolean recordingIsComplete;
 
     private Output(Problems problems, Path root) {
       this.problems = problems;
@@ -49,16 +53,38 @@ public class OutputUtils {
     }
 
     public void write(String path, String content) {
+      if (recordedOutputs != null) {
+        recordedOutputs.put(path, content);
+      }
       Path outputPath = root.resolve(path);
       fileService.execute(() -> OutputUtils.writeToFile(outputPath, content, problems));
     }
 
     public void copyFile(String fromAbsolute, String to) {
+      // Copies refer to files outside of the output and cannot be replayed from a recording.
+      recordingIsComplete = false;
       Path fromPath = Paths.get(fromAbsolute);
       Path toPath = root.resolve(to);
       fileService.execute(() -> OutputUtils.copyFile(fromPath, toPath, problems));
     }
 
+    /** Starts recording the contents written to this output. */
+    public void startRecording() {
+      recordedOutputs = new LinkedHashMap<>();
+      recordingIsComplete = true;
+    }
+
+    /**
+     * Stops recording and returns the contents written since {@link #startRecording}, keyed by
+     * path, or {@code null} if some of the outputs could not be recorded.
+     */
+    @Nullable
+    public Map<String, String> stopRecording() {
+      Map<String, String> outputs = recordingIsComplete ? recordedOutputs : null;
+      recordedOutputs = null;
+      return outputs;
+    }
+
     @Override
     public void close() {
       try {
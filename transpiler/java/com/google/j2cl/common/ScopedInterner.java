@@ -15,18 +15,14 @@
  */
 package com.google.j2cl.common;
 
-import com.google.common.collect.Interner;
-import com.google.common.collect.Interners;
-
-/** An interner that provides per thread isolation. */
+/**
+ * An interner that is safe to use from multiple threads and returns the instances that are
+ * canonical in the current {@link InternerScope}.
+ */
 // TODO(rlubble): This class should extend com.google.common.collect.Interner<T> but that class
 // is marked @GwtIncompatible.
-public class ThreadLocalInterner<T> {
-  private final ThreadLocal<Interner<T>> interner =
-      ThreadLocal.withInitial(Interners::newStrongInterner);
-
+public class ScopedInterner<T> {
   public T intern(T t) {
-    return interner.get().intern(t);
+    return InternerScope.current().getInterner(this).intern(t);
   }
-
 }
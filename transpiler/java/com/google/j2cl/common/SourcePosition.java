@@ -25,6 +25,9 @@ import javax.annotation.Nullable;
 /**
  * Describes the location of a node in the original source in the form of a range
  * (line,column)-(line,column); where both line and column are zero-based.
+ *
+ * <p>Every node in the AST can have a source position, so the start and end positions are stored
+ * as plain ints and {@link FilePosition}s are only created when they are requested.
  */
 @AutoValue
 public abstract class SourcePosition implements Comparable<SourcePosition> {
@@ -35,9 +38,36 @@ public abstract class SourcePosition implements Comparable<SourcePosition> {
           .setEndFilePosition(FilePosition.NONE)
           .build();
 
-  public abstract FilePosition getStartFilePosition();
+  abstract int getStartLine();
+
+  abstract int getStartColumn();
+
+  abstract int getStartByteOffset();
 
-  public abstract FilePosition getEndFilePosition();
+  abstract int getEndLine();
+
+  abstract int getEndColumn();
+
+  abstract int getEndByteOffset();
+
+  public FilePosition getStartFilePosition() {
+    return createFilePosition(getStartLine(), getStartColumn(), getStartByteOffset());
+  }
+
+  public FilePosition getEndFilePosition() {
+    return createFilePosition(getEndLine(), getEndColumn(), getEndByteOffset());
+  }
+
+  private static FilePosition createFilePosition(int line, int column, int byteOffset) {
+    if (line == -1) {
+      return FilePosition.NONE;
+    }
+    return FilePosition.newBuilder()
+        .setLine(line)
+        .setColumn(column)
+        .setByteOffset(byteOffset)
+        .build();
+  }
 
   @Nullable
   public abstract String getFilePath();
@@ -56,7 +86,10 @@ public abstract class SourcePosition implements Comparable<SourcePosition> {
         return pathComparisonResult;
       }
     }
-    return getStartFilePosition().compareTo(o.getStartFilePosition());
+    if (getStartLine() != o.getStartLine()) {
+      return getStartLine() - o.getStartLine();
+    }
+    return getStartColumn() - o.getStartColumn();
   }
 
   @Memoized
@@ -76,9 +109,29 @@ public abstract class SourcePosition implements Comparable<SourcePosition> {
   @AutoValue.Builder
   public abstract static class Builder {
 
-    public abstract Builder setStartFilePosition(FilePosition filePosition);
+    public Builder setStartFilePosition(FilePosition filePosition) {
+      return setStartLine(filePosition.getLine())
+          .setStartColumn(filePosition.getColumn())
+          .setStartByteOffset(filePosition.getByteOffset());
+    }
+
+    public Builder setEndFilePosition(FilePosition filePosition) {
+      return setEndLine(filePosition.getLine())
+          .setEndColumn(filePosition.getColumn())
+          .setEndByteOffset(filePosition.getByteOffset());
+    }
+
+    abstract Builder setStartLine(int line);
+
+    abstract Builder setStartColumn(int column);
+
+    abstract Builder setStartByteOffset(int byteOffset);
+
+    abstract Builder setEndLine(int line);
+
+    abstract Builder setEndColumn(int column);
 
-    public abstract Builder setEndFilePosition(FilePosition filePosition);
+    abstract Builder setEndByteOffset(int byteOffset);
 
     public abstract Builder setFilePath(String filePath);
 
@@ -91,8 +144,9 @@ public abstract class SourcePosition implements Comparable<SourcePosition> {
     public SourcePosition build() {
       SourcePosition sourcePosition = autoBuild();
       checkState(
-          sourcePosition.getStartFilePosition().compareTo(sourcePosition.getEndFilePosition())
-              <= 0);
+          sourcePosition.getStartLine() < sourcePosition.getEndLine()
+              || (sourcePosition.getStartLine() == sourcePosition.getEndLine()
+                  && sourcePosition.getStartColumn() <= sourcePosition.getEndColumn()));
       return sourcePosition;
     }
 
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2022 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.j2cl.common.visitor;
+
+import java.util.BitSet;
+import javax.annotation.Nullable;
+
+/**
+ * A {@code @Context} node that caches the kinds of the nodes in its subtree, as indexed by the
+ * generated {@code NodeKinds} class, so that processors that are only interested in some kinds of
+ * nodes can skip it altogether.
+ *
+ * <p>The summary is cleared whenever a processor replaces or removes a node in its subtree.
+ * Implementations need to clear it as well whenever they hand out parts of the subtree that could
+ * be modified in place.
+ */
+public interface HasNodeKindSummary {
+  /** Returns the cached summary or null if it needs to be recomputed. */
+  @Nullable
+  BitSet getNodeKindSummary();
+
+  void setNodeKindSummary(@Nullable BitSet nodeKindSummary);
+}
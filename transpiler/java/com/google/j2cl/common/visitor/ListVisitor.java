@@ -16,24 +16,37 @@
 package com.google.j2cl.common.visitor;
 
 import java.util.List;
-import java.util.function.Function;
+import java.util.function.BiFunction;
 
 /** Visitor helper for lists. */
 public class ListVisitor {
-  public static <T> void visit(List<T> nodeList, Function<T, T> acceptor) {
-    for (int i = 0; i < nodeList.size(); i++) {
-      T oldNode = nodeList.get(i);
-      T newNode = acceptor.apply(oldNode);
+  /**
+   * Visits the nodes in {@code nodeList} in order, replacing each node with the result of {@code
+   * acceptor} and removing it if the result is null.
+   *
+   * <p>The acceptor receives the processor explicitly so that callers can pass a non-capturing
+   * lambda. Removals shift the remaining nodes down as they are visited and the tail is truncated
+   * once at the end, which keeps stripping many nodes from a list linear. Until the first removal
+   * the list is only modified by replacing nodes in place.
+   */
+  public static <T, P> void visit(
+      List<T> nodeList, P processor, BiFunction<T, P, T> acceptor) {
+    int writeIndex = 0;
+    for (int readIndex = 0; readIndex < nodeList.size(); readIndex++) {
+      T oldNode = nodeList.get(readIndex);
+      T newNode = acceptor.apply(oldNode, processor);
       if (newNode == null) {
         // Node is removed from list.
-        nodeList.remove(i);
-        i--;
         continue;
       }
-      if (newNode != oldNode) {
-        // Node is replaced.
-        nodeList.set(i, newNode);
+      if (newNode != oldNode || writeIndex != readIndex) {
+        // Node is replaced or moved down to fill the gap left by removed nodes.
+        nodeList.set(writeIndex, newNode);
       }
+      writeIndex++;
+    }
+    if (writeIndex < nodeList.size()) {
+      nodeList.subList(writeIndex, nodeList.size()).clear();
     }
   }
 
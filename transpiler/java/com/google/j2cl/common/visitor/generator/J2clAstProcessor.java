@@ -62,8 +62,8 @@ import org.apache.velocity.VelocityContext;
 import org.apache.velocity.app.VelocityEngine;
 
 /**
- * The J2clAstProcessor emits a single AbstractVisitor class and a Visitor helper class for each
- * {@code @Visitable} type.
+ * The J2clAstProcessor emits a single AbstractVisitor class, a NodeKinds class and a Visitor helper
+ * class for each {@code @Visitable} type.
  */
 @SupportedSourceVersion(SourceVersion.RELEASE_8)
 @AutoService(Processor.class)
@@ -103,6 +103,7 @@ public class J2clAstProcessor extends AbstractProcessor {
             ABSTRACT_REWRITER_TEMPLATE_FILE, "AbstractRewriter", packageName, classes);
         writeGeneralClass(
             PROCESSOR_PRIVATE_CLASS_TEMPLATE_FILE, "ProcessorPrivate", packageName, classes);
+        writeGeneralClass(NODE_KINDS_TEMPLATE_FILE, "NodeKinds", packageName, classes);
       }
 
       // This means that the previous round didn't generate any new sources, so we can't have found
@@ -210,6 +211,7 @@ public class J2clAstProcessor extends AbstractProcessor {
     String topClassName;
     List<Field> fields;
     boolean isContext;
+    boolean extendsContext;
 
     @Override
     public int hashCode() {
@@ -235,6 +237,10 @@ public class J2clAstProcessor extends AbstractProcessor {
       return CaseFormat.UPPER_CAMEL.to(CaseFormat.LOWER_CAMEL, simpleName);
     }
 
+    public String getKindName() {
+      return CaseFormat.UPPER_CAMEL.to(CaseFormat.UPPER_UNDERSCORE, simpleName);
+    }
+
     public boolean isTop() {
       return superclassName == null;
     }
@@ -243,6 +249,11 @@ public class J2clAstProcessor extends AbstractProcessor {
       return isContext;
     }
 
+    /** Whether this class or any of its visitable supertypes is a context. */
+    public boolean extendsContext() {
+      return extendsContext;
+    }
+
     public String getSuperclassName() {
       return superclassName;
     }
@@ -279,6 +290,9 @@ public class J2clAstProcessor extends AbstractProcessor {
   private static final String PROCESSOR_PRIVATE_CLASS_TEMPLATE_FILE =
       "com/google/j2cl/common/visitor/generator/ProcessorPrivateClass.vm";
 
+  private static final String NODE_KINDS_TEMPLATE_FILE =
+      "com/google/j2cl/common/visitor/generator/NodeKindsClass.vm";
+
   private static final String VISITABLE_CLASS_TEMPLATE_FILE =
       "com/google/j2cl/common/visitor/generator/Visitable_Class.vm";
 
@@ -333,10 +347,12 @@ public class J2clAstProcessor extends AbstractProcessor {
       visitableClass.superclassName =
           MoreTypes.asElement(getSingleVisitableSuper(typeElement)).getSimpleName().toString();
     }
+    visitableClass.extendsContext = visitableClass.isContext;
     TypeElement topElement = typeElement;
     TypeMirror visitableSuper;
     while ((visitableSuper = getSingleVisitableSuper(topElement)) != null) {
       topElement = MoreElements.asType(MoreTypes.asElement(visitableSuper));
+      visitableClass.extendsContext |= isAnnotationPresent(topElement, Context.class);
     }
     visitableClass.topClassName = topElement.getSimpleName().toString();
     return visitableClass;
@@ -72,6 +72,23 @@ final class BazelJ2clBuilder extends BazelWorker {
       usage = "Specifies where to find user class files and annotation processors.")
   String classPath;
 
+  @Option(
+      name = "-packagesummary",
+      handler = MapOptionHandler.class,
+      metaVar = "<classpath entry>=<path>",
+      usage =
+          "Specifies the package summary of a class path entry, as written by the compile of the"
+              + " library that produced it.",
+      hidden = true)
+  Map<String, String> packageSummaries = new HashMap<>();
+
+  @Option(
+      name = "-packagesummaryoutput",
+      metaVar = "<path>",
+      usage = "Specifies the file into which to place the summary of the packages in the sources.",
+      hidden = true)
+  Path packageSummaryOutput;
+
   @Option(
       name = "-output",
       required = true,
@@ -138,6 +155,15 @@ final class BazelJ2clBuilder extends BazelWorker {
   @Option(name = "-experimentalWasmRemoveAssertStatement", hidden = true)
   boolean wasmRemoveAssertStatement = false;
 
+  @Option(
+      name = "-experimentalIncrementalCacheDir",
+      metaVar = "<path>",
+      usage =
+          "Directory where the outputs of compilation units are cached across invocations of a"
+              + " persistent worker.",
+      hidden = true)
+  Path incrementalCacheDirectory;
+
   @Override
   protected void run(Problems problems) {
     try (Output out = OutputUtils.initOutput(this.output, problems)) {
@@ -212,6 +238,8 @@ final class BazelJ2clBuilder extends BazelWorker {
         .setNativeSources(allNativeSources)
         .setKotlinCommonSources(this.kotlinCommonSources)
         .setClasspaths(getPathEntries(this.classPath))
+        .setPackageSummaries(this.packageSummaries)
+        .setPackageSummaryOutput(this.packageSummaryOutput)
         .setOutput(output)
         .setLibraryInfoOutput(this.libraryInfoOutput)
         .setEmitReadableLibraryInfo(readableLibraryInfo)
@@ -225,6 +253,7 @@ final class BazelJ2clBuilder extends BazelWorker {
         .setWasmRemoveAssertStatement(wasmRemoveAssertStatement)
         .setNullMarkedSupported(this.enableJSpecifySupport)
         .setKotlincOptions(ImmutableList.copyOf(kotlincOptions))
+        .setIncrementalCacheDirectory(this.incrementalCacheDirectory)
         .build();
   }
 
@@ -0,0 +1,274 @@
+/*
+ * Copyright 2022 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.j2cl.transpiler;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.j2cl.transpiler.ast.AbstractVisitor;
+import com.google.j2cl.transpiler.ast.ArrayTypeDescriptor;
+import com.google.j2cl.transpiler.ast.CompilationUnit;
+import com.google.j2cl.transpiler.ast.DeclaredTypeDescriptor;
+import com.google.j2cl.transpiler.ast.Expression;
+import com.google.j2cl.transpiler.ast.FieldDescriptor;
+import com.google.j2cl.transpiler.ast.IntersectionTypeDescriptor;
+import com.google.j2cl.transpiler.ast.Member;
+import com.google.j2cl.transpiler.ast.MemberDescriptor;
+import com.google.j2cl.transpiler.ast.MemberReference;
+import com.google.j2cl.transpiler.ast.MethodDescriptor;
+import com.google.j2cl.transpiler.ast.Type;
+import com.google.j2cl.transpiler.ast.TypeDeclaration;
+import com.google.j2cl.transpiler.ast.TypeDescriptor;
+import com.google.j2cl.transpiler.ast.TypeVariable;
+import com.google.j2cl.transpiler.ast.UnionTypeDescriptor;
+import com.google.j2cl.transpiler.ast.Variable;
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.CodeSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import javax.annotation.Nullable;
+
+/**
+ * Computes the fingerprints that key the cached outputs of compilation units.
+ *
+ * <p>The fingerprint of a unit covers the transpiler, the options and the classpath, the source of
+ * the unit and the sources of the units in the library that declare the types it references,
+ * directly or as supertypes of the referenced types. It also covers the properties that these types
+ * take from their package-info, like the namespace set by {@code @JsPackage} and whether they are
+ * {@code @NullMarked}, since those change the outputs without changing the sources. Any change to
+ * the declarations a unit depends on changes its fingerprint; changes to the bodies of the units it
+ * references do as well, which invalidates more than necessary but never less.
+ */
+final class CompilationUnitFingerprints {
+  /** Needs to be bumped whenever the contents of the fingerprint change. */
+  private static final int FORMAT_VERSION = 2;
+
+  /**
+   * Returns the fingerprints of {@code compilationUnits}, in the same order, or {@code null} for
+   * the units whose outputs should not be cached.
+   */
+  static List<String> compute(
+      J2clTranspilerOptions options, List<CompilationUnit> compilationUnits) {
+    HashCode environmentHash = hashEnvironment(options);
+
+    Map<CompilationUnit, HashCode> sourceHashByCompilationUnit = new HashMap<>();
+    Map<TypeDeclaration, CompilationUnit> compilationUnitByTypeDeclaration = new HashMap<>();
+    for (CompilationUnit compilationUnit : compilationUnits) {
+      sourceHashByCompilationUnit.put(compilationUnit, hashSource(compilationUnit));
+      compilationUnit
+          .streamTypes()
+          .forEach(t -> compilationUnitByTypeDeclaration.put(t.getDeclaration(), compilationUnit));
+    }
+
+    List<String> fingerprints = new ArrayList<>(compilationUnits.size());
+    for (CompilationUnit compilationUnit : compilationUnits) {
+      // Keyed by path so that the fingerprint does not depend on the order of the sources.
+      Map<String, HashCode> sourceHashByPath = new TreeMap<>();
+      sourceHashByPath.put(
+          compilationUnit.getFilePath(), sourceHashByCompilationUnit.get(compilationUnit));
+      Set<TypeDeclaration> referencedTypeDeclarations =
+          collectReferencedTypeDeclarations(compilationUnit);
+      for (TypeDeclaration typeDeclaration : referencedTypeDeclarations) {
+        CompilationUnit dependency = compilationUnitByTypeDeclaration.get(typeDeclaration);
+        if (dependency != null) {
+          sourceHashByPath.put(
+              dependency.getFilePath(), sourceHashByCompilationUnit.get(dependency));
+        }
+      }
+      fingerprints.add(
+          computeFingerprint(
+              environmentHash,
+              sourceHashByPath,
+              hashPackageProperties(referencedTypeDeclarations)));
+    }
+    return fingerprints;
+  }
+
+  @Nullable
+  private static String computeFingerprint(
+      HashCode environmentHash,
+      Map<String, HashCode> sourceHashByPath,
+      HashCode packagePropertiesHash) {
+    Hasher hasher =
+        Hashing.sha256()
+            .newHasher()
+            .putBytes(environmentHash.asBytes())
+            .putBytes(packagePropertiesHash.asBytes());
+    for (Map.Entry<String, HashCode> entry : sourceHashByPath.entrySet()) {
+      if (entry.getValue() == null) {
+        return null;
+      }
+      hasher.putString(entry.getKey(), UTF_8).putBytes(entry.getValue().asBytes());
+    }
+    return hasher.hash().toString();
+  }
+
+  /**
+   * Hashes the properties that {@code typeDeclarations} take from the package-info of their
+   * package, which might come from sources, the classpath or package summaries.
+   */
+  private static HashCode hashPackageProperties(Set<TypeDeclaration> typeDeclarations) {
+    // Keyed by name so that the hash does not depend on the iteration order of the set.
+    Map<String, TypeDeclaration> typeDeclarationByName = new TreeMap<>();
+    for (TypeDeclaration typeDeclaration : typeDeclarations) {
+      typeDeclarationByName.put(typeDeclaration.getQualifiedBinaryName(), typeDeclaration);
+    }
+    Hasher hasher = Hashing.sha256().newHasher();
+    for (Map.Entry<String, TypeDeclaration> entry : typeDeclarationByName.entrySet()) {
+      hasher
+          .putString(entry.getKey(), UTF_8)
+          .putString(String.valueOf(entry.getValue().getJsNamespace()), UTF_8)
+          .putBoolean(entry.getValue().isNullMarked());
+    }
+    return hasher.hash();
+  }
+
+  /** Hashes everything that affects the outputs of all the units in the same way. */
+  private static HashCode hashEnvironment(J2clTranspilerOptions options) {
+    Hasher hasher =
+        Hashing.sha256()
+            .newHasher()
+            .putInt(FORMAT_VERSION)
+            .putString(options.getFrontend().name(), UTF_8)
+            .putString(options.getBackend().name(), UTF_8)
+            .putBoolean(options.getOptimizeAutoValue())
+            .putBoolean(options.getEmitReadableSourceMap())
+            .putBoolean(options.getGenerateKytheIndexingMetadata())
+            .putBoolean(options.isNullMarkedSupported());
+    for (String kotlincOption : options.getKotlincOptions()) {
+      hasher.putString(kotlincOption, UTF_8);
+    }
+    for (String classpathEntry : options.getClasspaths()) {
+      putFile(hasher, Paths.get(classpathEntry));
+    }
+    // Make sure that outputs are not reused across different versions of the transpiler.
+    CodeSource codeSource = J2clTranspiler.class.getProtectionDomain().getCodeSource();
+    if (codeSource != null) {
+      try {
+        putFile(hasher, Paths.get(codeSource.getLocation().toURI()));
+      } catch (URISyntaxException | IllegalArgumentException e) {
+        hasher.putString(codeSource.getLocation().toString(), UTF_8);
+      }
+    }
+    return hasher.hash();
+  }
+
+  private static void putFile(Hasher hasher, Path path) {
+    File file = path.toFile();
+    hasher.putString(path.toString(), UTF_8).putLong(file.length()).putLong(file.lastModified());
+  }
+
+  @Nullable
+  private static HashCode hashSource(CompilationUnit compilationUnit) {
+    try {
+      byte[] source = Files.readAllBytes(Paths.get(compilationUnit.getFilePath()));
+      return Hashing.sha256().hashBytes(source);
+    } catch (IOException | RuntimeException e) {
+      // The source is not available as a file, e.g. it was synthesized.
+      return null;
+    }
+  }
+
+  /** Returns the declarations of the types referenced in {@code compilationUnit}. */
+  private static Set<TypeDeclaration> collectReferencedTypeDeclarations(
+      CompilationUnit compilationUnit) {
+    Set<TypeDeclaration> typeDeclarations = new HashSet<>();
+    Set<TypeDescriptor> seenTypeDescriptors = new HashSet<>();
+    compilationUnit.accept(
+        new AbstractVisitor() {
+          @Override
+          public boolean enterType(Type type) {
+            collect(type.getTypeDescriptor());
+            return true;
+          }
+
+          @Override
+          public boolean enterMember(Member member) {
+            collect(member.getDescriptor());
+            return true;
+          }
+
+          @Override
+          public boolean enterVariable(Variable variable) {
+            collect(variable.getTypeDescriptor());
+            return true;
+          }
+
+          @Override
+          public boolean enterMemberReference(MemberReference memberReference) {
+            collect(memberReference.getTarget());
+            return enterExpression(memberReference);
+          }
+
+          @Override
+          public boolean enterExpression(Expression expression) {
+            collect(expression.getTypeDescriptor());
+            return true;
+          }
+
+          private void collect(MemberDescriptor memberDescriptor) {
+            collect(memberDescriptor.getEnclosingTypeDescriptor());
+            if (memberDescriptor instanceof FieldDescriptor) {
+              collect(((FieldDescriptor) memberDescriptor).getTypeDescriptor());
+            } else if (memberDescriptor instanceof MethodDescriptor) {
+              MethodDescriptor methodDescriptor = (MethodDescriptor) memberDescriptor;
+              collect(methodDescriptor.getReturnTypeDescriptor());
+              methodDescriptor.getParameterTypeDescriptors().forEach(this::collect);
+            }
+          }
+
+          private void collect(TypeDescriptor typeDescriptor) {
+            if (!seenTypeDescriptors.add(typeDescriptor)) {
+              return;
+            }
+            if (typeDescriptor instanceof DeclaredTypeDescriptor) {
+              DeclaredTypeDescriptor declaredTypeDescriptor =
+                  (DeclaredTypeDescriptor) typeDescriptor;
+              typeDeclarations.addAll(
+                  declaredTypeDescriptor.getTypeDeclaration().getAllSuperTypesIncludingSelf());
+              declaredTypeDescriptor.getTypeArgumentDescriptors().forEach(this::collect);
+            } else if (typeDescriptor instanceof ArrayTypeDescriptor) {
+              collect(((ArrayTypeDescriptor) typeDescriptor).getComponentTypeDescriptor());
+            } else if (typeDescriptor instanceof TypeVariable) {
+              collect(((TypeVariable) typeDescriptor).getUpperBoundTypeDescriptor());
+            } else if (typeDescriptor instanceof IntersectionTypeDescriptor) {
+              ((IntersectionTypeDescriptor) typeDescriptor)
+                  .getIntersectionTypeDescriptors()
+                  .forEach(this::collect);
+            } else if (typeDescriptor instanceof UnionTypeDescriptor) {
+              ((UnionTypeDescriptor) typeDescriptor)
+                  .getUnionTypeDescriptors()
+                  .forEach(this::collect);
+            }
+          }
+        });
+    return typeDeclarations;
+  }
+
+  private CompilationUnitFingerprints() {}
+}
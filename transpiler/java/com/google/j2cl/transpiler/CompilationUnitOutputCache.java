@@ -0,0 +1,169 @@
+/*
+ * Copyright 2022 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.j2cl.transpiler;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import javax.annotation.Nullable;
+
+/**
+ * An on-disk cache of the outputs generated for a compilation unit, keyed by the fingerprint of the
+ * unit.
+ *
+ * <p>Each entry is stored in its own file and the least recently used entries are evicted once the
+ * cache grows beyond its maximum size. The cache might be shared by concurrent transpilations and
+ * is never required to be consistent, hence any failure to read or write an entry is treated as a
+ * miss.
+ */
+final class CompilationUnitOutputCache {
+  private static final long DEFAULT_MAX_SIZE_IN_BYTES = 256L * 1024 * 1024;
+  private static final String ENTRY_SUFFIX = ".entry";
+
+  private final Path directory;
+  private final long maxSizeInBytes;
+
+  CompilationUnitOutputCache(Path directory) {
+    this(directory, DEFAULT_MAX_SIZE_IN_BYTES);
+  }
+
+  CompilationUnitOutputCache(Path directory, long maxSizeInBytes) {
+    this.directory = directory;
+    this.maxSizeInBytes = maxSizeInBytes;
+  }
+
+  /** Returns the outputs, keyed by path, stored for {@code fingerprint} if any. */
+  @Nullable
+  Map<String, String> get(String fingerprint) {
+    Path entryPath = getEntryPath(fingerprint);
+    if (!Files.isRegularFile(entryPath)) {
+      return null;
+    }
+    try (DataInputStream in =
+        new DataInputStream(new BufferedInputStream(Files.newInputStream(entryPath)))) {
+      // Sizes read from a corrupt entry are bounded by the size of the file.
+      long entrySize = Files.size(entryPath);
+      Map<String, String> outputs = new LinkedHashMap<>();
+      int count = readSize(in, entrySize);
+      for (int i = 0; i < count; i++) {
+        outputs.put(readString(in, entrySize), readString(in, entrySize));
+      }
+      // Mark the entry as recently used.
+      Files.setLastModifiedTime(entryPath, FileTime.fromMillis(System.currentTimeMillis()));
+      return outputs;
+    } catch (IOException e) {
+      return null;
+    }
+  }
+
+  /** Stores {@code outputs}, keyed by path, for {@code fingerprint}. */
+  void put(String fingerprint, Map<String, String> outputs) {
+    try {
+      Files.createDirectories(directory);
+      // Write to a temporary file first so that concurrent readers never see partial entries.
+      Path temporaryPath = Files.createTempFile(directory, fingerprint, ".tmp");
+      try (DataOutputStream out =
+          new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaryPath)))) {
+        out.writeInt(outputs.size());
+        for (Map.Entry<String, String> output : outputs.entrySet()) {
+          writeString(out, output.getKey());
+          writeString(out, output.getValue());
+        }
+      }
+      Files.move(
+          temporaryPath,
+          getEntryPath(fingerprint),
+          StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+      evictLeastRecentlyUsedEntries();
+    } catch (IOException e) {
+      // The entry will be regenerated next time.
+    }
+  }
+
+  private void evictLeastRecentlyUsedEntries() throws IOException {
+    Map<Path, BasicFileAttributes> attributesByPath = new LinkedHashMap<>();
+    long totalSize = 0;
+    try (Stream<Path> paths = Files.list(directory)) {
+      for (Path path : (Iterable<Path>) paths::iterator) {
+        if (!path.getFileName().toString().endsWith(ENTRY_SUFFIX)) {
+          continue;
+        }
+        BasicFileAttributes attributes;
+        try {
+          attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (IOException e) {
+          // Evicted concurrently.
+          continue;
+        }
+        attributesByPath.put(path, attributes);
+        totalSize += attributes.size();
+      }
+    }
+    if (totalSize <= maxSizeInBytes) {
+      return;
+    }
+
+    List<Path> entryPaths = new ArrayList<>(attributesByPath.keySet());
+    entryPaths.sort(Comparator.comparing(p -> attributesByPath.get(p).lastModifiedTime()));
+    for (Path path : entryPaths) {
+      if (totalSize <= maxSizeInBytes) {
+        return;
+      }
+      Files.deleteIfExists(path);
+      totalSize -= attributesByPath.get(path).size();
+    }
+  }
+
+  private Path getEntryPath(String fingerprint) {
+    return directory.resolve(fingerprint + ENTRY_SUFFIX);
+  }
+
+  private static String readString(DataInputStream in, long entrySize) throws IOException {
+    byte[] bytes = new byte[readSize(in, entrySize)];
+    in.readFully(bytes);
+    return new String(bytes, UTF_8);
+  }
+
+  private static int readSize(DataInputStream in, long entrySize) throws IOException {
+    int size = in.readInt();
+    if (size < 0 || size > entrySize) {
+      throw new IOException("Corrupt cache entry.");
+    }
+    return size;
+  }
+
+  private static void writeString(DataOutputStream out, String string) throws IOException {
+    byte[] bytes = string.getBytes(UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+}
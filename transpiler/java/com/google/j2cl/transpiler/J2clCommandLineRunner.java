@@ -29,9 +29,12 @@ import java.io.File;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import org.kohsuke.args4j.Argument;
 import org.kohsuke.args4j.Option;
+import org.kohsuke.args4j.spi.MapOptionHandler;
 
 /** A javac-like command line driver for J2clTranspiler. */
 public final class J2clCommandLineRunner extends CommandLineTool {
@@ -55,6 +58,23 @@ public final class J2clCommandLineRunner extends CommandLineTool {
       usage = "Specifies where to find user class files and annotation processors.")
   String classPath = "";
 
+  @Option(
+      name = "-packagesummary",
+      handler = MapOptionHandler.class,
+      metaVar = "<classpath entry>=<path>",
+      usage =
+          "Specifies the package summary of a class path entry, as written by the compile of the"
+              + " library that produced it.",
+      hidden = true)
+  Map<String, String> packageSummaries = new HashMap<>();
+
+  @Option(
+      name = "-packagesummaryoutput",
+      metaVar = "<path>",
+      usage = "Specifies the file into which to place the summary of the packages in the sources.",
+      hidden = true)
+  Path packageSummaryOutput;
+
   @Option(
       name = "-nativesourcepath",
       metaVar = "<path>",
@@ -102,6 +122,13 @@ public final class J2clCommandLineRunner extends CommandLineTool {
   @Option(name = "-kotlincOptions", hidden = true)
   List<String> kotlincOptions = new ArrayList<>();
 
+  @Option(
+      name = "-experimentalIncrementalCacheDir",
+      metaVar = "<path>",
+      usage = "Directory where the outputs of compilation units are cached across invocations.",
+      hidden = true)
+  Path incrementalCacheDirectory;
+
   private J2clCommandLineRunner() {
     super("j2cl");
   }
@@ -133,6 +160,8 @@ public final class J2clCommandLineRunner extends CommandLineTool {
                 .filter(p -> p.sourcePath().endsWith(".native.js"))
                 .collect(toImmutableList()))
         .setClasspaths(getPathEntries(this.classPath))
+        .setPackageSummaries(this.packageSummaries)
+        .setPackageSummaryOutput(this.packageSummaryOutput)
         .setOutput(output)
         .setEmitReadableSourceMap(this.readableSourceMaps)
         .setEmitReadableLibraryInfo(false)
@@ -141,6 +170,7 @@ public final class J2clCommandLineRunner extends CommandLineTool {
         .setFrontend(this.frontEnd)
         .setKotlincOptions(ImmutableList.copyOf(kotlincOptions))
         .setBackend(this.backend)
+        .setIncrementalCacheDirectory(this.incrementalCacheDirectory)
         .build();
   }
 
@@ -16,15 +16,20 @@ package com.google.j2cl.transpiler;
 import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableList;
 import com.google.common.util.concurrent.Uninterruptibles;
+import com.google.j2cl.common.InternerScope;
 import com.google.j2cl.common.Problems;
 import com.google.j2cl.transpiler.ast.CompilationUnit;
 import com.google.j2cl.transpiler.ast.Library;
 import com.google.j2cl.transpiler.ast.MemberDescriptor;
 import com.google.j2cl.transpiler.ast.MethodDescriptor;
 import com.google.j2cl.transpiler.ast.TypeDeclaration;
+import com.google.j2cl.transpiler.ast.TypeHierarchyIndex;
 import com.google.j2cl.transpiler.backend.Backend;
 import com.google.j2cl.transpiler.passes.LibraryNormalizationPass;
 import com.google.j2cl.transpiler.passes.NormalizationPass;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -40,7 +45,14 @@ class J2clTranspiler {
     // Because of this, we invoke the compiler on a different thread each time.
     ExecutorService executorService = Executors.newSingleThreadExecutor();
     Future<?> result =
-        executorService.submit(() -> new J2clTranspiler(options, problems).transpileImpl());
+        executorService.submit(
+            () -> {
+              // Descriptors are canonical within the compilation, even if parts of it run on
+              // other threads.
+              try (InternerScope.Entry entry = InternerScope.create().enter()) {
+                new J2clTranspiler(options, problems).transpileImpl();
+              }
+            });
     // Shutdown the executor service since it will only run a single transpilation. If not shutdown
     // it prevents the JVM from ending the process (see Executors.newFixedThreadPool()). This is not
     // normally observed since the transpiler in normal circumstances ends with System.exit() which
@@ -75,12 +87,21 @@ class J2clTranspiler {
       MethodDescriptor.ParameterDescriptor.setIgnoreDoNotAutoboxAnnotations();
     }
     Library library = options.getFrontend().getLibrary(options, problems);
-    if (!library.isEmpty()) {
-      desugarLibrary(library);
-      checkLibrary(library);
-      normalizeLibrary(library);
+    TypeHierarchyIndex typeHierarchyIndex = TypeHierarchyIndex.index(library);
+    try {
+      if (!library.isEmpty()) {
+        desugarLibrary(library);
+        checkLibrary(library);
+        if (options.getBackend().generatesOutputsPerCompilationUnit()) {
+          normalizeAndGenerateOutputsPerCompilationUnit(library);
+          return;
+        }
+        normalizeLibrary(library);
+      }
+      options.getBackend().generateOutputs(options, library, problems);
+    } finally {
+      typeHierarchyIndex.clear();
     }
-    options.getBackend().generateOutputs(options, library, problems);
   }
 
   private void desugarLibrary(Library library) {
@@ -98,6 +119,67 @@ class J2clTranspiler {
     runPasses(library, options.getBackend().getPassFactories(options));
   }
 
+  /**
+   * Runs the passes up to the last library-wide pass on the whole library, and then runs the
+   * remaining passes and generates the outputs one compilation unit at a time. Each unit is
+   * released right after its outputs are handed to the backend, so that the normalized ASTs of
+   * the whole library are never alive at the same time.
+   *
+   * <p>If an incremental cache is configured, the outputs of the units whose fingerprint is
+   * unchanged are replayed from the cache instead of being regenerated.
+   */
+  private void normalizeAndGenerateOutputsPerCompilationUnit(Library library) {
+    Backend backend = options.getBackend();
+    ImmutableList<Supplier<NormalizationPass>> passFactories = backend.getPassFactories(options);
+    int firstPerUnitPassIndex = 0;
+    for (int i = 0; i < passFactories.size(); i++) {
+      if (passFactories.get(i).get() instanceof LibraryNormalizationPass) {
+        firstPerUnitPassIndex = i + 1;
+      }
+    }
+    runPasses(library, passFactories.subList(0, firstPerUnitPassIndex));
+
+    ImmutableList<Supplier<NormalizationPass>> perUnitPassFactories =
+        passFactories.subList(firstPerUnitPassIndex, passFactories.size());
+    List<CompilationUnit> compilationUnits = new ArrayList<>(library.releaseCompilationUnits());
+    // Library-wide passes might make changes across units that are not reflected in the
+    // fingerprints, in which case the outputs are always regenerated.
+    CompilationUnitOutputCache cache =
+        options.getIncrementalCacheDirectory() != null && firstPerUnitPassIndex == 0
+            ? new CompilationUnitOutputCache(options.getIncrementalCacheDirectory())
+            : null;
+    List<String> fingerprints =
+        cache != null ? CompilationUnitFingerprints.compute(options, compilationUnits) : null;
+    for (int i = 0; i < compilationUnits.size(); i++) {
+      CompilationUnit compilationUnit = compilationUnits.set(i, null);
+      String fingerprint = fingerprints != null ? fingerprints.get(i) : null;
+      if (fingerprint == null) {
+        normalizeAndGenerateOutputs(compilationUnit, perUnitPassFactories);
+        continue;
+      }
+
+      Map<String, String> cachedOutputs = cache.get(fingerprint);
+      if (cachedOutputs != null) {
+        cachedOutputs.forEach(options.getOutput()::write);
+        continue;
+      }
+      options.getOutput().startRecording();
+      normalizeAndGenerateOutputs(compilationUnit, perUnitPassFactories);
+      Map<String, String> outputs = options.getOutput().stopRecording();
+      if (outputs != null && !problems.hasErrors()) {
+        cache.put(fingerprint, outputs);
+      }
+    }
+  }
+
+  private void normalizeAndGenerateOutputs(
+      CompilationUnit compilationUnit, ImmutableList<Supplier<NormalizationPass>> passFactories) {
+    for (Supplier<NormalizationPass> passFactory : passFactories) {
+      passFactory.get().execute(compilationUnit);
+    }
+    options.getBackend().generateOutputs(options, compilationUnit, problems);
+  }
+
   private static void runPasses(
       Library library, ImmutableList<Supplier<NormalizationPass>> passFactories) {
     for (Supplier<NormalizationPass> passFactory : passFactories) {
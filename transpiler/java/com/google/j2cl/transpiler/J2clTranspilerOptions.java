@@ -29,6 +29,7 @@ import com.google.j2cl.transpiler.frontend.Frontend;
 import com.google.j2cl.transpiler.frontend.FrontendOptions;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.Map;
 import javax.annotation.Nullable;
 
 /** Configuration for the transpiler. */
@@ -39,11 +40,16 @@ public abstract class J2clTranspilerOptions implements FrontendOptions, BackendO
 
   public abstract Backend getBackend();
 
+  /** The directory where the outputs of compilation units are cached, if any. */
+  @Nullable
+  public abstract Path getIncrementalCacheDirectory();
+
   public static Builder newBuilder() {
     return new AutoValue_J2clTranspilerOptions.Builder()
         .setOptimizeAutoValue(false)
         .setWasmRemoveAssertStatement(false)
-        .setNullMarkedSupported(false);
+        .setNullMarkedSupported(false)
+        .setPackageSummaries(ImmutableMap.of());
   }
 
   /** A Builder for J2clTranspilerOptions. */
@@ -58,6 +64,10 @@ public abstract class J2clTranspilerOptions implements FrontendOptions, BackendO
 
     public abstract Builder setClasspaths(List<String> entries);
 
+    public abstract Builder setPackageSummaries(Map<String, String> packageSummaries);
+
+    public abstract Builder setPackageSummaryOutput(@Nullable Path path);
+
     public abstract Builder setOutput(Output output);
 
     public abstract Builder setLibraryInfoOutput(@Nullable Path path);
@@ -84,6 +94,8 @@ public abstract class J2clTranspilerOptions implements FrontendOptions, BackendO
 
     public abstract Builder setKotlincOptions(ImmutableList<String> kotlincOptions);
 
+    public abstract Builder setIncrementalCacheDirectory(@Nullable Path path);
+
     abstract J2clTranspilerOptions autoBuild();
 
     public J2clTranspilerOptions build() {
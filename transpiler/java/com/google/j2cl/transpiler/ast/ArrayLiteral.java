@@ -30,7 +30,7 @@ import java.util.List;
 @Visitable
 public class ArrayLiteral extends Expression {
   private final ArrayTypeDescriptor typeDescriptor;
-  @Visitable List<Expression> valueExpressions = new ArrayList<>();
+  @Visitable List<Expression> valueExpressions;
 
   public ArrayLiteral(ArrayTypeDescriptor typeDescriptor, Expression... valueExpressions) {
     this(typeDescriptor, Arrays.asList(valueExpressions));
@@ -41,7 +41,7 @@ public class ArrayLiteral extends Expression {
     checkState(typeDescriptor.isArray());
 
     this.typeDescriptor = typeDescriptor.toNonNullable();
-    this.valueExpressions.addAll(checkNotNull(valueExpressions));
+    this.valueExpressions = new ArrayList<>(checkNotNull(valueExpressions));
   }
 
   public List<Expression> getValueExpressions() {
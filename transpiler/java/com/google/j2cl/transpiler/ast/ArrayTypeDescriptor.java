@@ -18,7 +18,7 @@ package com.google.j2cl.transpiler.ast;
 import com.google.auto.value.AutoValue;
 import com.google.auto.value.extension.memoized.Memoized;
 import com.google.common.collect.ImmutableSet;
-import com.google.j2cl.common.ThreadLocalInterner;
+import com.google.j2cl.common.ScopedInterner;
 import java.util.Set;
 import java.util.function.Function;
 import javax.annotation.Nullable;
@@ -236,8 +236,7 @@ public abstract class ArrayTypeDescriptor extends TypeDescriptor {
 
     abstract ArrayTypeDescriptor autoBuild();
 
-    private static final ThreadLocalInterner<ArrayTypeDescriptor> interner =
-        new ThreadLocalInterner<>();
+    private static final ScopedInterner<ArrayTypeDescriptor> interner = new ScopedInterner<>();
 
     public ArrayTypeDescriptor build() {
       ArrayTypeDescriptor typeDescriptor = autoBuild();
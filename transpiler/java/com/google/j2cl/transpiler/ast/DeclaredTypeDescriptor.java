@@ -29,7 +29,7 @@ import com.google.common.base.Predicates;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Streams;
-import com.google.j2cl.common.ThreadLocalInterner;
+import com.google.j2cl.common.ScopedInterner;
 import com.google.j2cl.transpiler.ast.FieldDescriptor.FieldOrigin;
 import com.google.j2cl.transpiler.ast.MethodDescriptor.MethodOrigin;
 import java.util.Collection;
@@ -1164,8 +1164,7 @@ public abstract class DeclaredTypeDescriptor extends TypeDescriptor
 
     public abstract Builder setTypeDeclaration(TypeDeclaration typeDeclaration);
 
-    private static final ThreadLocalInterner<DeclaredTypeDescriptor> interner =
-        new ThreadLocalInterner<>();
+    private static final ScopedInterner<DeclaredTypeDescriptor> interner = new ScopedInterner<>();
 
     abstract TypeDeclaration getTypeDeclaration();
 
@@ -55,6 +55,8 @@ public class Field extends Member {
   }
 
   public Expression getInitializer() {
+    // The initializer might be modified outside of a visit.
+    setNodeKindSummary(null);
     return initializer;
   }
 
@@ -19,7 +19,7 @@ import static com.google.common.base.Preconditions.checkState;
 
 import com.google.auto.value.AutoValue;
 import com.google.auto.value.extension.memoized.Memoized;
-import com.google.j2cl.common.ThreadLocalInterner;
+import com.google.j2cl.common.ScopedInterner;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.Consumer;
@@ -263,7 +263,6 @@ public abstract class FieldDescriptor extends MemberDescriptor {
       return fieldDescriptor.toBuilder();
     }
 
-    private static final ThreadLocalInterner<FieldDescriptor> interner =
-        new ThreadLocalInterner<>();
+    private static final ScopedInterner<FieldDescriptor> interner = new ScopedInterner<>();
   }
 }
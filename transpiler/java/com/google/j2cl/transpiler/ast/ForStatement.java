@@ -30,9 +30,9 @@ public class ForStatement extends LoopStatement {
   // The visitors traverse the @Visitable members of the class in the order they appear.
   // The components of the ForStatement need to be traversed in order so that variable declarations
   // are visited before their references.
-  @Visitable List<Expression> initializers = new ArrayList<>();
+  @Visitable List<Expression> initializers;
   @Visitable Expression conditionExpression;
-  @Visitable List<Expression> updates = new ArrayList<>();
+  @Visitable List<Expression> updates;
   @Visitable Statement body;
 
   private ForStatement(
@@ -44,8 +44,8 @@ public class ForStatement extends LoopStatement {
     super(sourcePosition);
     this.conditionExpression = conditionExpression;
     this.body = checkNotNull(body);
-    this.initializers.addAll(checkNotNull(initializers));
-    this.updates.addAll(checkNotNull(updates));
+    this.initializers = new ArrayList<>(checkNotNull(initializers));
+    this.updates = new ArrayList<>(checkNotNull(updates));
   }
 
   @Override
@@ -38,6 +38,8 @@ public class InitializerBlock extends Member {
   }
 
   public Block getBlock() {
+    // The block might be modified outside of a visit.
+    setNodeKindSummary(null);
     return block;
   }
 
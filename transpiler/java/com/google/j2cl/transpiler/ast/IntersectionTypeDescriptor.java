@@ -23,7 +23,7 @@ import com.google.auto.value.AutoValue;
 import com.google.auto.value.extension.memoized.Memoized;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
-import com.google.j2cl.common.ThreadLocalInterner;
+import com.google.j2cl.common.ScopedInterner;
 import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -213,8 +213,8 @@ public abstract class IntersectionTypeDescriptor extends TypeDescriptor {
 
     abstract IntersectionTypeDescriptor autoBuild();
 
-    private static final ThreadLocalInterner<IntersectionTypeDescriptor> interner =
-        new ThreadLocalInterner<>();
+    private static final ScopedInterner<IntersectionTypeDescriptor> interner =
+        new ScopedInterner<>();
 
     public IntersectionTypeDescriptor build() {
       IntersectionTypeDescriptor typeDescriptor = autoBuild();
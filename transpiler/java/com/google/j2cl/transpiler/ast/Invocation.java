@@ -28,11 +28,11 @@ import java.util.List;
 /** Abstracts invocations, i.e. method calls and new instances. */
 @Visitable
 public abstract class Invocation extends MemberReference {
-  @Visitable List<Expression> arguments = new ArrayList<>();
+  @Visitable List<Expression> arguments;
 
   Invocation(Expression qualifier, MethodDescriptor target, List<Expression> arguments) {
     super(qualifier, target);
-    this.arguments.addAll(arguments);
+    this.arguments = new ArrayList<>(arguments);
   }
 
   public final List<Expression> getArguments() {
@@ -18,7 +18,7 @@ package com.google.j2cl.transpiler.ast;
 import static com.google.common.base.Preconditions.checkState;
 
 import com.google.auto.value.AutoValue;
-import com.google.j2cl.common.ThreadLocalInterner;
+import com.google.j2cl.common.ScopedInterner;
 
 /** Encapsulates JsEnum information. */
 @AutoValue
@@ -62,6 +62,6 @@ public abstract class JsEnumInfo {
       return jsEnumInfo.toBuilder();
     }
 
-    private static final ThreadLocalInterner<JsEnumInfo> interner = new ThreadLocalInterner<>();
+    private static final ScopedInterner<JsEnumInfo> interner = new ScopedInterner<>();
   }
 }
@@ -19,6 +19,7 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
 import com.google.j2cl.common.visitor.Processor;
 import com.google.j2cl.common.visitor.Visitable;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Stream;
 
@@ -35,6 +36,16 @@ public class Library extends Node {
     return compilationUnits;
   }
 
+  /**
+   * Hands the compilation units over to the caller and leaves the library empty, so that each unit
+   * can be released as soon as the caller is done with it.
+   */
+  public List<CompilationUnit> releaseCompilationUnits() {
+    List<CompilationUnit> compilationUnits = this.compilationUnits;
+    this.compilationUnits = new ArrayList<>();
+    return compilationUnits;
+  }
+
   public Stream<Type> streamTypes() {
     return compilationUnits.stream().flatMap(c -> c.streamTypes());
   }
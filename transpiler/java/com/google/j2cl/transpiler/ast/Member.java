@@ -19,15 +19,19 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
 import com.google.j2cl.common.SourcePosition;
 import com.google.j2cl.common.visitor.Context;
+import com.google.j2cl.common.visitor.HasNodeKindSummary;
 import com.google.j2cl.common.visitor.Processor;
 import com.google.j2cl.common.visitor.Visitable;
+import java.util.BitSet;
+import javax.annotation.Nullable;
 
 /** Abstract base class for class members. */
 @Visitable
 @Context
 public abstract class Member extends Node
-    implements HasJsNameInfo, HasSourcePosition, HasReadableDescription {
+    implements HasJsNameInfo, HasSourcePosition, HasReadableDescription, HasNodeKindSummary {
   private final SourcePosition sourcePosition;
+  @Nullable private BitSet nodeKindSummary;
 
   public Member(SourcePosition sourcePosition) {
     this.sourcePosition = checkNotNull(sourcePosition);
@@ -96,6 +100,17 @@ public abstract class Member extends Node
     return sourcePosition;
   }
 
+  @Override
+  @Nullable
+  public BitSet getNodeKindSummary() {
+    return nodeKindSummary;
+  }
+
+  @Override
+  public void setNodeKindSummary(@Nullable BitSet nodeKindSummary) {
+    this.nodeKindSummary = nodeKindSummary;
+  }
+
   @Override
   public Node accept(Processor processor) {
     return Visitor_Member.visit(processor, this);
@@ -37,7 +37,7 @@ import javax.annotation.Nullable;
 @Visitable
 public class Method extends Member implements MethodLike {
   private final MethodDescriptor methodDescriptor;
-  @Visitable List<Variable> parameters = new ArrayList<>();
+  @Visitable List<Variable> parameters;
   @Visitable Block body;
   private final String jsDocDescription;
 
@@ -49,7 +49,7 @@ public class Method extends Member implements MethodLike {
       String jsDocDescription) {
     super(sourcePosition);
     this.methodDescriptor = checkNotNull(methodDescriptor);
-    this.parameters.addAll(checkNotNull(parameters));
+    this.parameters = new ArrayList<>(checkNotNull(parameters));
     this.jsDocDescription = jsDocDescription;
     this.body = checkNotNull(body);
   }
@@ -61,6 +61,8 @@ public class Method extends Member implements MethodLike {
 
   @Override
   public List<Variable> getParameters() {
+    // The parameters might be modified outside of a visit.
+    setNodeKindSummary(null);
     return parameters;
   }
 
@@ -82,10 +84,13 @@ public class Method extends Member implements MethodLike {
   }
 
   public Block getBody() {
+    // The body might be modified outside of a visit.
+    setNodeKindSummary(null);
     return body;
   }
 
   public void setBody(Block body) {
+    setNodeKindSummary(null);
     this.body = checkNotNull(body);
   }
 
@@ -26,7 +26,7 @@ import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Streams;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
-import com.google.j2cl.common.ThreadLocalInterner;
+import com.google.j2cl.common.ScopedInterner;
 import com.google.j2cl.transpiler.ast.FieldDescriptor.FieldOrigin;
 import com.google.j2cl.transpiler.ast.TypeDeclaration.SourceLanguage;
 import java.util.ArrayList;
@@ -81,8 +81,7 @@ public abstract class MethodDescriptor extends MemberDescriptor {
           .setDoNotAutobox(false);
     }
 
-    private static final ThreadLocalInterner<ParameterDescriptor> interner =
-        new ThreadLocalInterner<>();
+    private static final ScopedInterner<ParameterDescriptor> interner = new ScopedInterner<>();
 
     /** A Builder for ParameterDescriptor. */
     @AutoValue.Builder
@@ -1269,7 +1268,6 @@ public abstract class MethodDescriptor extends MemberDescriptor {
       return methodDescriptor.toBuilder();
     }
 
-    private static final ThreadLocalInterner<MethodDescriptor> interner =
-        new ThreadLocalInterner<>();
+    private static final ScopedInterner<MethodDescriptor> interner = new ScopedInterner<>();
   }
 }
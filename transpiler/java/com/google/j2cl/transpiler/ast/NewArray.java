@@ -30,7 +30,7 @@ import javax.annotation.Nullable;
 @Visitable
 public class NewArray extends Expression {
   private final ArrayTypeDescriptor typeDescriptor;
-  @Visitable List<Expression> dimensionExpressions = new ArrayList<>();
+  @Visitable List<Expression> dimensionExpressions;
   @Nullable @Visitable ArrayLiteral arrayLiteral;
 
   private NewArray(
@@ -38,7 +38,7 @@ public class NewArray extends Expression {
       List<Expression> dimensionExpressions,
       ArrayLiteral arrayLiteral) {
     this.typeDescriptor = checkNotNull(typeDescriptor.toNonNullable());
-    this.dimensionExpressions.addAll(checkNotNull(dimensionExpressions));
+    this.dimensionExpressions = new ArrayList<>(checkNotNull(dimensionExpressions));
     this.arrayLiteral = arrayLiteral;
     checkArgument(typeDescriptor.getDimensions() == dimensionExpressions.size());
     checkArgument(
@@ -285,18 +285,6 @@ public final class RuntimeMethods {
         .build();
   }
 
-  /** Create a call to a native Long method. */
-  public static MethodCall createNativeLongMethodCall(String methodName, Expression... arguments) {
-    return createNativeLongMethodCall(methodName, Arrays.asList(arguments));
-  }
-
-  /** Create a call to an native Long method. */
-  private static MethodCall createNativeLongMethodCall(
-      String methodName, List<Expression> arguments) {
-    return createRuntimeMethodCall(
-        BootstrapType.NATIVE_LONG.getDescriptor(), methodName, arguments);
-  }
-
   public static Expression createMathImulMethodCall(
       Expression leftOperand, Expression rightOperand) {
     return MethodCall.Builder.from(
@@ -549,11 +537,6 @@ public final class RuntimeMethods {
                                       .setReturnType(PrimitiveTypes.LONG)
                                       .setParameters(PrimitiveTypes.LONG)
                                       .build())
-                              .build())
-                      .put(
-                          BootstrapType.NATIVE_LONG.getDescriptor(),
-                          // goog.math.long methods
-                          ImmutableMap.<String, MethodInfo>builder()
                               .put(
                                   "fromInt",
                                   MethodInfo.newBuilder()
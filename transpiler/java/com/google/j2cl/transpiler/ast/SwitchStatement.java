@@ -32,13 +32,13 @@ import java.util.List;
 @Visitable
 public class SwitchStatement extends Statement {
   @Visitable Expression switchExpression;
-  @Visitable List<SwitchCase> cases = new ArrayList<>();
+  @Visitable List<SwitchCase> cases;
 
   private SwitchStatement(
       SourcePosition sourcePosition, Expression switchExpression, List<SwitchCase> cases) {
     super(sourcePosition);
     this.switchExpression = checkNotNull(switchExpression);
-    this.cases.addAll(checkNotNull(cases));
+    this.cases = new ArrayList<>(checkNotNull(cases));
   }
 
   public Expression getSwitchExpression() {
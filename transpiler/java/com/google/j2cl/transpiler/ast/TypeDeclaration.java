@@ -26,7 +26,7 @@ import com.google.common.base.Splitter;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Streams;
-import com.google.j2cl.common.ThreadLocalInterner;
+import com.google.j2cl.common.ScopedInterner;
 import com.google.j2cl.transpiler.ast.TypeDescriptors.BootstrapType;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -658,8 +658,24 @@ public abstract class TypeDeclaration
     return getUniqueId().hashCode();
   }
 
+  /** The position of this type in the {@link TypeHierarchyIndex} of the library, if any. */
+  @Nullable private TypeHierarchyIndex.Entry typeHierarchyIndexEntry;
+
+  @Nullable
+  TypeHierarchyIndex.Entry getTypeHierarchyIndexEntry() {
+    return typeHierarchyIndexEntry;
+  }
+
+  void setTypeHierarchyIndexEntry(@Nullable TypeHierarchyIndex.Entry typeHierarchyIndexEntry) {
+    this.typeHierarchyIndexEntry = typeHierarchyIndexEntry;
+  }
+
   /** Returns {@code true} if {@code this} is subtype of {@code that}. */
   public boolean isSubtypeOf(TypeDeclaration that) {
+    TypeHierarchyIndex.Entry entry = typeHierarchyIndexEntry;
+    if (entry != null && entry.isInSameIndex(that.typeHierarchyIndexEntry)) {
+      return entry.isSubtypeOf(that.typeHierarchyIndexEntry);
+    }
     // TODO(b/70951075): distinguish between Java isSubtypeOf and our target interpretation of
     // isSubtypeOf for optimization purposes in the context of jsinterop. Note that this method is
     // used assuming it provides Java semantics.
@@ -927,8 +943,7 @@ public abstract class TypeDeclaration
 
     abstract Optional<JsEnumInfo> getJsEnumInfo();
 
-    private static final ThreadLocalInterner<TypeDeclaration> interner =
-        new ThreadLocalInterner<>();
+    private static final ScopedInterner<TypeDeclaration> interner = new ScopedInterner<>();
 
     abstract TypeDeclaration autoBuild();
 
@@ -0,0 +1,228 @@
+/*
+ * Copyright 2022 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.j2cl.transpiler.ast;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nullable;
+
+/**
+ * A numbering of the type hierarchy of a library that answers subtype queries in constant time.
+ *
+ * <p>Classes are numbered in preorder over the superclass tree, so that the subclasses of a class
+ * are exactly the classes numbered within its interval. Interfaces are numbered separately and each
+ * type records the set of interfaces it is a subtype of as a bit row.
+ *
+ * <p>The index covers the types declared in the library and all their supertypes. Since the
+ * supertypes of a type declaration never change, the index stays valid while the library is
+ * normalized; type declarations that are not covered, e.g. the ones synthesized by passes, are
+ * answered by {@link TypeDeclaration#getAllSuperTypesIncludingSelf}.
+ */
+public final class TypeHierarchyIndex {
+
+  /** The position of a type declaration in an index. */
+  static final class Entry {
+    private static final long[] NO_INTERFACES = new long[0];
+
+    private final TypeHierarchyIndex index;
+    private final TypeDeclaration typeDeclaration;
+    private final List<Entry> subclasses = new ArrayList<>();
+    /** The preorder number of the type in the superclass tree. */
+    private int preorder;
+    /** The highest preorder number among the subclasses of the type, including itself. */
+    private int lastSubclassPreorder;
+    /** The number of the type amongst the interfaces, or -1 if it is not an interface. */
+    private int interfaceNumber = -1;
+    /** The interfaces the type is a subtype of, as a bit set indexed by interface number. */
+    private long[] interfaces;
+
+    private Entry(TypeHierarchyIndex index, TypeDeclaration typeDeclaration) {
+      this.index = index;
+      this.typeDeclaration = typeDeclaration;
+    }
+
+    /** Returns whether {@code that} belongs to the same index, i.e. whether it can be queried. */
+    boolean isInSameIndex(@Nullable Entry that) {
+      return that != null && that.index == index;
+    }
+
+    /** Returns whether {@code this} is a subtype of {@code that}, which is in the same index. */
+    boolean isSubtypeOf(Entry that) {
+      if (that == index.javaLangObject) {
+        return true;
+      }
+      if (that.interfaceNumber == -1) {
+        return that.preorder <= preorder && preorder <= that.lastSubclassPreorder;
+      }
+      int word = that.interfaceNumber >>> 6;
+      return word < interfaces.length && (interfaces[word] & (1L << that.interfaceNumber)) != 0;
+    }
+  }
+
+  /**
+   * Indexes the hierarchy of the types declared in {@code library}, replacing any previous index
+   * for those types.
+   *
+   * <p>The index needs to be {@link #clear cleared} once the library is transpiled, since the type
+   * declarations might outlive the transpilation and would otherwise keep the index alive.
+   */
+  public static TypeHierarchyIndex index(Library library) {
+    TypeHierarchyIndex index = new TypeHierarchyIndex();
+    library.streamTypes().forEach(t -> index.add(t.getDeclaration()));
+    index.number();
+    return index;
+  }
+
+  // Keyed by equality since the same declaration might have been built more than once; all the
+  // instances seen share the same entry.
+  private final Map<TypeDeclaration, Entry> entriesByTypeDeclaration = new LinkedHashMap<>();
+  private final Set<TypeDeclaration> indexedTypeDeclarations =
+      Collections.newSetFromMap(new IdentityHashMap<>());
+  private final List<Entry> roots = new ArrayList<>();
+  private Entry javaLangObject;
+  private int interfaceCount;
+
+  private TypeHierarchyIndex() {}
+
+  private Entry add(TypeDeclaration typeDeclaration) {
+    Entry entry = entriesByTypeDeclaration.get(typeDeclaration);
+    if (entry == null) {
+      entry = new Entry(this, typeDeclaration);
+      entriesByTypeDeclaration.put(typeDeclaration, entry);
+
+      DeclaredTypeDescriptor superTypeDescriptor =
+          typeDeclaration.toUnparameterizedTypeDescriptor().getSuperTypeDescriptor();
+      if (superTypeDescriptor == null) {
+        roots.add(entry);
+      } else {
+        add(superTypeDescriptor.getTypeDeclaration()).subclasses.add(entry);
+      }
+      for (DeclaredTypeDescriptor interfaceTypeDescriptor :
+          typeDeclaration.toUnparameterizedTypeDescriptor().getInterfaceTypeDescriptors()) {
+        add(interfaceTypeDescriptor.getTypeDeclaration());
+      }
+
+      if (typeDeclaration.isInterface()) {
+        entry.interfaceNumber = interfaceCount++;
+      }
+      if (TypeDescriptors.isJavaLangObject(typeDeclaration.toUnparameterizedTypeDescriptor())) {
+        javaLangObject = entry;
+      }
+    }
+    typeDeclaration.setTypeHierarchyIndexEntry(entry);
+    indexedTypeDeclarations.add(typeDeclaration);
+    return entry;
+  }
+
+  /**
+   * Detaches the index from the type declarations it covers, which from then on answer subtype
+   * queries from their supertypes.
+   */
+  public void clear() {
+    for (TypeDeclaration typeDeclaration : indexedTypeDeclarations) {
+      Entry entry = typeDeclaration.getTypeHierarchyIndexEntry();
+      // The declaration might have been indexed again since.
+      if (entry != null && entry.index == this) {
+        typeDeclaration.setTypeHierarchyIndexEntry(null);
+      }
+    }
+    indexedTypeDeclarations.clear();
+    entriesByTypeDeclaration.clear();
+    roots.clear();
+    javaLangObject = null;
+  }
+
+  private void number() {
+    int preorder = 0;
+    for (Entry root : roots) {
+      preorder = numberSubclasses(root, preorder);
+    }
+    for (Entry entry : entriesByTypeDeclaration.values()) {
+      computeInterfaces(entry);
+    }
+  }
+
+  /** Numbers {@code entry} and its subclasses starting at {@code preorder}. */
+  private static int numberSubclasses(Entry entry, int preorder) {
+    entry.preorder = preorder++;
+    for (Entry subclass : entry.subclasses) {
+      preorder = numberSubclasses(subclass, preorder);
+    }
+    entry.lastSubclassPreorder = preorder - 1;
+    return preorder;
+  }
+
+  private long[] computeInterfaces(Entry entry) {
+    if (entry.interfaces != null) {
+      return entry.interfaces;
+    }
+
+    DeclaredTypeDescriptor typeDescriptor =
+        entry.typeDeclaration.toUnparameterizedTypeDescriptor();
+    DeclaredTypeDescriptor superTypeDescriptor = typeDescriptor.getSuperTypeDescriptor();
+    long[] interfaces =
+        superTypeDescriptor == null
+            ? Entry.NO_INTERFACES
+            : computeInterfaces(getEntry(superTypeDescriptor));
+    for (DeclaredTypeDescriptor interfaceTypeDescriptor :
+        typeDescriptor.getInterfaceTypeDescriptors()) {
+      interfaces = union(interfaces, computeInterfaces(getEntry(interfaceTypeDescriptor)));
+    }
+    if (entry.interfaceNumber != -1) {
+      long[] self = new long[(entry.interfaceNumber >>> 6) + 1];
+      self[entry.interfaceNumber >>> 6] = 1L << entry.interfaceNumber;
+      interfaces = union(interfaces, self);
+    }
+    entry.interfaces = interfaces;
+    return interfaces;
+  }
+
+  private Entry getEntry(DeclaredTypeDescriptor typeDescriptor) {
+    return entriesByTypeDeclaration.get(typeDescriptor.getTypeDeclaration());
+  }
+
+  /**
+   * Returns the union of two interface rows. Rows are never modified once computed, so {@code
+   * left} is returned as is if it already contains {@code right}, which lets types that add no
+   * interfaces share the row of their superclass.
+   */
+  private static long[] union(long[] left, long[] right) {
+    if (containsAll(left, right)) {
+      return left;
+    }
+    long[] result = Arrays.copyOf(left, Math.max(left.length, right.length));
+    for (int i = 0; i < right.length; i++) {
+      result[i] |= right[i];
+    }
+    return result;
+  }
+
+  private static boolean containsAll(long[] left, long[] right) {
+    for (int i = 0; i < right.length; i++) {
+      long leftWord = i < left.length ? left[i] : 0;
+      if ((right[i] & ~leftWord) != 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
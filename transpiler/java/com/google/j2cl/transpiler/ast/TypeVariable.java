@@ -20,7 +20,7 @@ import static com.google.common.base.Preconditions.checkState;
 import com.google.auto.value.AutoValue;
 import com.google.auto.value.extension.memoized.Memoized;
 import com.google.common.collect.ImmutableSet;
-import com.google.j2cl.common.ThreadLocalInterner;
+import com.google.j2cl.common.ScopedInterner;
 import java.util.Set;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -277,7 +277,7 @@ public abstract class TypeVariable extends TypeDescriptor implements HasName {
 
     public abstract Builder setKtVariance(@Nullable KtVariance ktVariance);
 
-    private static final ThreadLocalInterner<TypeVariable> interner = new ThreadLocalInterner<>();
+    private static final ScopedInterner<TypeVariable> interner = new ScopedInterner<>();
 
     abstract TypeVariable autoBuild();
 
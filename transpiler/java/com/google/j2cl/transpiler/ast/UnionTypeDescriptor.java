@@ -22,7 +22,7 @@ import com.google.auto.value.AutoValue;
 import com.google.auto.value.extension.memoized.Memoized;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
-import com.google.j2cl.common.ThreadLocalInterner;
+import com.google.j2cl.common.ScopedInterner;
 import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -201,8 +201,7 @@ public abstract class UnionTypeDescriptor extends TypeDescriptor {
 
     abstract UnionTypeDescriptor autoBuild();
 
-    private static final ThreadLocalInterner<UnionTypeDescriptor> interner =
-        new ThreadLocalInterner<>();
+    private static final ScopedInterner<UnionTypeDescriptor> interner = new ScopedInterner<>();
 
     public UnionTypeDescriptor build() {
       return interner.intern(autoBuild());
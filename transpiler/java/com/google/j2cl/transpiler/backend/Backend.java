@@ -17,6 +17,7 @@ package com.google.j2cl.transpiler.backend;
 
 import com.google.common.collect.ImmutableList;
 import com.google.j2cl.common.Problems;
+import com.google.j2cl.transpiler.ast.CompilationUnit;
 import com.google.j2cl.transpiler.ast.Library;
 import com.google.j2cl.transpiler.backend.closure.OutputGeneratorStage;
 import com.google.j2cl.transpiler.backend.kotlin.KotlinGeneratorStage;
@@ -130,6 +131,7 @@ import com.google.j2cl.transpiler.passes.NormalizeTryWithResources;
 import com.google.j2cl.transpiler.passes.NormalizeVarargParametersKotlin;
 import com.google.j2cl.transpiler.passes.NormalizeVariableInitialization;
 import com.google.j2cl.transpiler.passes.OptimizeAnonymousInnerClassesToFunctionExpressions;
+import com.google.j2cl.transpiler.passes.OptimizeArrayLoopsWasm;
 import com.google.j2cl.transpiler.passes.OptimizeAutoValue;
 import com.google.j2cl.transpiler.passes.OptimizeEnums;
 import com.google.j2cl.transpiler.passes.PropagateConstants;
@@ -137,7 +139,9 @@ import com.google.j2cl.transpiler.passes.PropagateNullabilityKotlin;
 import com.google.j2cl.transpiler.passes.RemoveAssertStatements;
 import com.google.j2cl.transpiler.passes.RemoveNestedBlocks;
 import com.google.j2cl.transpiler.passes.RemoveNoopStatements;
+import com.google.j2cl.transpiler.passes.RemoveUnneededBoxingConversions;
 import com.google.j2cl.transpiler.passes.RemoveUnneededCasts;
+import com.google.j2cl.transpiler.passes.RemoveUnneededClinitCalls;
 import com.google.j2cl.transpiler.passes.RemoveUnneededJsDocCasts;
 import com.google.j2cl.transpiler.passes.RemoveUnusedLabeledStatements;
 import com.google.j2cl.transpiler.passes.RemoveWasmAnnotatedMethodBodies;
@@ -390,6 +394,8 @@ public enum Backend {
           InsertNarrowingReferenceConversions::new,
           () -> new InsertUnboxingConversions(/* areBooleanAndDoubleBoxed= */ true),
           () -> new InsertBoxingConversions(/* areBooleanAndDoubleBoxed= */ true),
+          // Needs to run after all the boxing and unboxing conversions are explicit.
+          RemoveUnneededBoxingConversions::new,
           () -> new InsertNarrowingPrimitiveConversions(/* treatFloatAsDouble= */ false),
           () -> new InsertWideningPrimitiveConversions(/* needFloatOrDoubleWidening= */ true),
           ImplementDivisionOperations::new,
@@ -400,6 +406,9 @@ public enum Backend {
           ImplementInstanceInitialization::new,
           NormalizeLabels::new,
           ImplementStaticInitializationViaConditionChecks::new,
+          // Needs to run right after ImplementStaticInitializationViaConditionChecks to see the
+          // class initializers before other passes synthesize code in them.
+          RemoveUnneededClinitCalls::new,
           ImplementClassMetadataViaGetters::new,
           ImplementStringCompileTimeConstants::new,
           NormalizeArrayCreationsWasm::new,
@@ -417,6 +426,9 @@ public enum Backend {
           RewriteAssignmentExpressions::new,
           // Needs to run at the end as the types in the ast will be invalid after the pass.
           ImplementArraysAsClasses::new,
+          // Needs to run after ImplementArraysAsClasses since it optimizes the accesses to the
+          // fields of the array implementation classes.
+          OptimizeArrayLoopsWasm::new,
 
           // Passes required for immutable fields.
           MakeFieldsFinal::new,
@@ -439,6 +451,11 @@ public enum Backend {
       new KotlinGeneratorStage(options.getOutput(), problems).generateOutputs(library);
     }
 
+    @Override
+    public boolean generatesOutputsPerCompilationUnit() {
+      return true;
+    }
+
     @Override
     public ImmutableList<Supplier<NormalizationPass>> getDesugaringPassFactories() {
       return ImmutableList.of(
@@ -520,4 +537,26 @@ public enum Backend {
   public void checkRestrictions(BackendOptions options, Library library, Problems problems) {}
 
   public abstract void generateOutputs(BackendOptions options, Library library, Problems problems);
+
+  /**
+   * Returns whether the outputs for a compilation unit only depend on that unit, which allows the
+   * per unit passes and the output generation to run one unit at a time once the library-wide
+   * passes are done.
+   */
+  public boolean generatesOutputsPerCompilationUnit() {
+    return false;
+  }
+
+  /**
+   * Generates the outputs for a single compilation unit, by default as those of a library that only
+   * contains that unit. Only called for backends that {@link #generatesOutputsPerCompilationUnit
+   * generate outputs per compilation unit}.
+   */
+  public void generateOutputs(
+      BackendOptions options, CompilationUnit compilationUnit, Problems problems) {
+    generateOutputs(
+        options,
+        Library.newBuilder().setCompilationUnits(ImmutableList.of(compilationUnit)).build(),
+        problems);
+  }
 }
@@ -134,6 +134,8 @@ class ClosureTypesGenerator {
   private ClosureType getClosureTypeForPrimitive(PrimitiveTypeDescriptor typeDescriptor) {
 
     if (TypeDescriptors.isPrimitiveLong(typeDescriptor)) {
+      // Longs are only manipulated through LongUtils, which accepts and returns untyped values, so
+      // this type is also consistent with the BigInt based emulations (see jre.longEmulation).
       return getClosureType(BootstrapType.NATIVE_LONG.getDescriptor()).toNonNullable();
     }
     if (TypeDescriptors.isPrimitiveBoolean(typeDescriptor)) {
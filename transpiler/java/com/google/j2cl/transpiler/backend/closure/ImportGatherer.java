@@ -231,7 +231,8 @@ class ImportGatherer extends AbstractVisitor {
       return;
     }
 
-    // JsDoc for {@code long} uses NATIVE_LONG.
+    // JsDoc for {@code long} uses NATIVE_LONG, regardless of the long emulation selected at
+    // compile time (see jre.longEmulation).
     if (TypeDescriptors.isPrimitiveLong(typeDescriptor)) {
       collectForJsDoc(BootstrapType.NATIVE_LONG.getDescriptor());
       return;
@@ -157,6 +157,25 @@ public class SourceBuilder {
     append(LINE_SEPARATOR);
   }
 
+  /**
+   * Starts a new line, without leaving whitespace at the end of the current one, unless the current
+   * line has nothing but indentation yet.
+   */
+  public void newLineIfNotBlank() {
+    checkState(!finished);
+    int lineStart = sb.lastIndexOf(LINE_SEPARATOR) + 1;
+    int lineEnd = sb.length();
+    while (lineEnd > lineStart && sb.charAt(lineEnd - 1) == ' ') {
+      lineEnd--;
+    }
+    if (lineEnd == lineStart) {
+      return;
+    }
+    sb.setLength(lineEnd);
+    currentColumn = lineEnd - lineStart;
+    newLine();
+  }
+
   public void indent() {
     currentIndentation++;
   }
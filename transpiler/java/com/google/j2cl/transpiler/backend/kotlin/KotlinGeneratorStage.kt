@@ -36,7 +36,7 @@ class KotlinGeneratorStage(private val output: OutputUtils.Output, private val p
     library.compilationUnits.forEach { generateOutputs(it) }
   }
 
-  private fun generateOutputs(compilationUnit: CompilationUnit) {
+  fun generateOutputs(compilationUnit: CompilationUnit) {
     val source = renderSource(compilationUnit)
     val path = compilationUnit.packageRelativePath.replace(".java", ".kt")
     output.write(path, source)
@@ -24,6 +24,7 @@ import static java.lang.String.format;
 
 import com.google.common.collect.Iterables;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import com.google.j2cl.common.SourcePosition;
 import com.google.j2cl.transpiler.ast.AbstractVisitor;
 import com.google.j2cl.transpiler.ast.ArrayAccess;
 import com.google.j2cl.transpiler.ast.ArrayLength;
@@ -57,6 +58,7 @@ import com.google.j2cl.transpiler.ast.VariableDeclarationFragment;
 import com.google.j2cl.transpiler.ast.VariableReference;
 import com.google.j2cl.transpiler.backend.common.SourceBuilder;
 import java.util.List;
+import java.util.Objects;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -69,11 +71,25 @@ final class ExpressionTranspiler {
 
   public static void renderWithUnusedResult(
       Expression expression, SourceBuilder sourceBuilder, GenerationEnvironment environment) {
+    renderWithUnusedResult(expression, SourcePosition.NONE, sourceBuilder, environment);
+  }
+
+  /**
+   * Renders an expression whose value is not used.
+   *
+   * <p>See {@link #render(Expression, SourcePosition, SourceBuilder, GenerationEnvironment)} for
+   * the meaning of {@code enclosingSourcePosition}.
+   */
+  public static void renderWithUnusedResult(
+      Expression expression,
+      SourcePosition enclosingSourcePosition,
+      SourceBuilder sourceBuilder,
+      GenerationEnvironment environment) {
     if (returnsVoid(expression)) {
-      render(expression, sourceBuilder, environment);
+      render(expression, enclosingSourcePosition, sourceBuilder, environment);
     } else {
       sourceBuilder.append("(drop ");
-      render(expression, sourceBuilder, environment);
+      render(expression, enclosingSourcePosition, sourceBuilder, environment);
       sourceBuilder.append(")");
     }
   }
@@ -82,8 +98,28 @@ final class ExpressionTranspiler {
       Expression expression,
       final SourceBuilder sourceBuilder,
       final GenerationEnvironment environment) {
+    render(expression, SourcePosition.NONE, sourceBuilder, environment);
+  }
+
+  /**
+   * Renders an expression that is part of a statement whose source mapping has already been emitted
+   * at {@code enclosingSourcePosition}.
+   *
+   * <p>Method calls that come from a different line than the enclosing statement get their own
+   * source mapping. Profilers and debuggers resolve the stack frames of callers by the location of
+   * the call instruction, so without these mappings all the calls in a statement that spans many
+   * lines, e.g. a builder chain, would be attributed to its first line.
+   */
+  public static void render(
+      Expression expression,
+      final SourcePosition enclosingSourcePosition,
+      final SourceBuilder sourceBuilder,
+      final GenerationEnvironment environment) {
 
     new AbstractVisitor() {
+      /** The source position that was last emitted as a mapping for the code being rendered. */
+      private SourcePosition currentSourcePosition = enclosingSourcePosition;
+
       @Override
       public boolean enterBooleanLiteral(BooleanLiteral booleanLiteral) {
         sourceBuilder.append("(i32.const " + (booleanLiteral.getValue() ? "1" : "0") + ")");
@@ -296,6 +332,16 @@ final class ExpressionTranspiler {
 
       @Override
       public boolean enterMethodCall(MethodCall methodCall) {
+        SourcePosition previousSourcePosition = currentSourcePosition;
+        renderSourceMappingIfNeeded(methodCall.getSourcePosition());
+        renderMethodCall(methodCall);
+        // A mapping only applies to the expression that follows it, so the siblings of this call
+        // are still refined against the enclosing mapping.
+        currentSourcePosition = previousSourcePosition;
+        return false;
+      }
+
+      private void renderMethodCall(MethodCall methodCall) {
         MethodDescriptor target = methodCall.getTarget();
         DeclaredTypeDescriptor enclosingTypeDescriptor = target.getEnclosingTypeDescriptor();
 
@@ -358,7 +404,6 @@ final class ExpressionTranspiler {
           }
 
           sourceBuilder.append("))");
-          return false;
         } else {
           // Non-polymorphic methods are called directly, regardless of whether they are
           // instance methods or not.
@@ -398,7 +443,21 @@ final class ExpressionTranspiler {
 
           sourceBuilder.append(")");
         }
-        return false;
+      }
+
+      private void renderSourceMappingIfNeeded(SourcePosition sourcePosition) {
+        if (currentSourcePosition == SourcePosition.NONE
+            || sourcePosition == SourcePosition.NONE
+            || isSameLine(sourcePosition, currentSourcePosition)) {
+          // Either there is no enclosing mapping to refine or the enclosing mapping is already
+          // precise enough.
+          return;
+        }
+        sourceBuilder.newLineIfNotBlank();
+        sourceBuilder.append(StatementTranspiler.getSourceMappingComment(sourcePosition));
+        // The mapping is a line comment, so the code needs to continue in the next line.
+        sourceBuilder.newLine();
+        currentSourcePosition = sourcePosition;
       }
 
       private void renderReceiver(MethodCall methodCall) {
@@ -579,6 +638,12 @@ final class ExpressionTranspiler {
     }.render(expression);
   }
 
+  private static boolean isSameLine(SourcePosition position, SourcePosition otherPosition) {
+    return Objects.equals(position.getFilePath(), otherPosition.getFilePath())
+        && position.getStartFilePosition().getLine()
+            == otherPosition.getStartFilePosition().getLine();
+  }
+
   public static boolean returnsVoid(Expression expression) {
     if (expression instanceof MethodCall && ((MethodCall) expression).getTarget().isConstructor()) {
       // This is a super() or this() call and the generated constructor for WASM is actually returns
@@ -96,7 +96,9 @@ final class StatementTranspiler {
         builder.newLine();
         builder.emitWithMapping(
             expressionStatement.getSourcePosition(),
-            () -> ExpressionTranspiler.renderWithUnusedResult(expression, builder, environment));
+            () ->
+                ExpressionTranspiler.renderWithUnusedResult(
+                    expression, expressionStatement.getSourcePosition(), builder, environment));
 
         return false;
       }
@@ -144,7 +146,11 @@ final class StatementTranspiler {
               builder.newLine();
               builder.append("(return ");
               if (returnStatement.getExpression() != null) {
-                ExpressionTranspiler.render(returnStatement.getExpression(), builder, environment);
+                ExpressionTranspiler.render(
+                    returnStatement.getExpression(),
+                    returnStatement.getSourcePosition(),
+                    builder,
+                    environment);
               }
               builder.append(")");
             });
@@ -472,7 +478,8 @@ final class StatementTranspiler {
             .forEach(
                 i -> {
                   builder.newLine();
-                  ExpressionTranspiler.renderWithUnusedResult(i, builder, environment);
+                  ExpressionTranspiler.renderWithUnusedResult(
+                      i, forStatement.getSourcePosition(), builder, environment);
                 });
 
         renderLoop(
@@ -487,7 +494,8 @@ final class StatementTranspiler {
                   .forEach(
                       u -> {
                         builder.newLine();
-                        ExpressionTranspiler.renderWithUnusedResult(u, builder, environment);
+                        ExpressionTranspiler.renderWithUnusedResult(
+                            u, forStatement.getSourcePosition(), builder, environment);
                       });
               renderUnconditionalBranch(0);
             });
@@ -550,7 +558,8 @@ final class StatementTranspiler {
       }
 
       private void renderExpression(Expression expression) {
-        ExpressionTranspiler.render(expression, builder, environment);
+        ExpressionTranspiler.render(
+            expression, statement.getSourcePosition(), builder, environment);
       }
 
       void render(Statement stmt) {
@@ -569,17 +578,20 @@ final class StatementTranspiler {
       SourcePosition sourcePosition, SourceBuilder builder) {
     if (sourcePosition != SourcePosition.NONE) {
       builder.newLine();
-      builder.append(
-          String.format(
-              ";;@ %s:%d:%d",
-              sourcePosition.getPackageRelativePath(),
-              // Lines and column are zero based, but DevTools expects lines to be 1-based and
-              // columns to be zeor based.
-              sourcePosition.getStartFilePosition().getLine() + 1,
-              sourcePosition.getStartFilePosition().getColumn()));
+      builder.append(getSourceMappingComment(sourcePosition));
     }
   }
 
+  static String getSourceMappingComment(SourcePosition sourcePosition) {
+    return String.format(
+        ";;@ %s:%d:%d",
+        sourcePosition.getPackageRelativePath(),
+        // Lines and column are zero based, but DevTools expects lines to be 1-based and
+        // columns to be zeor based.
+        sourcePosition.getStartFilePosition().getLine() + 1,
+        sourcePosition.getStartFilePosition().getColumn());
+  }
+
   /** Render first line of the source code for {@code statement} as a WASM comment. * */
   private static void renderFirstLineAsComment(Statement s, SourceBuilder builder) {
     String[] parts = s.toString().split("\n", 2);
@@ -96,8 +96,12 @@ public enum Frontend {
 
   public Library getLibrary(FrontendOptions options, Problems problems) {
     // Records information about package-info files supplied as byte code.
-    PackageInfoCache.init(options.getClasspaths(), problems);
-    return Library.newBuilder().setCompilationUnits(compile(options, problems)).build();
+    PackageInfoCache.init(options.getClasspaths(), options.getPackageSummaries(), problems);
+    List<CompilationUnit> compilationUnits = compile(options, problems);
+    if (options.getPackageSummaryOutput() != null) {
+      PackageInfoCache.get().writePackageSummary(options.getPackageSummaryOutput());
+    }
+    return Library.newBuilder().setCompilationUnits(compilationUnits).build();
   }
 
   abstract List<CompilationUnit> compile(FrontendOptions options, Problems problems);
@@ -16,7 +16,10 @@
 package com.google.j2cl.transpiler.frontend;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.j2cl.common.SourceUtils.FileInfo;
+import java.nio.file.Path;
+import javax.annotation.Nullable;
 
 /** Configuration for frontend. */
 public interface FrontendOptions {
@@ -26,6 +29,12 @@ public interface FrontendOptions {
 
   ImmutableList<String> getClasspaths();
 
+  /** The package summaries of class path entries, keyed by class path entry. */
+  ImmutableMap<String, String> getPackageSummaries();
+
+  @Nullable
+  Path getPackageSummaryOutput();
+
   boolean getGenerateKytheIndexingMetadata();
 
   boolean isNullMarkedSupported();
@@ -17,22 +17,31 @@ package com.google.j2cl.transpiler.frontend.common;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Arrays.stream;
 
 import com.google.auto.value.AutoValue;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Iterables;
 import com.google.j2cl.common.OutputUtils;
 import com.google.j2cl.common.Problems;
 import com.google.j2cl.common.Problems.FatalError;
+import java.io.IOException;
 import java.lang.annotation.Annotation;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 import javax.annotation.Nullable;
 import jsinterop.annotations.JsPackage;
 import org.jspecify.nullness.NullMarked;
@@ -50,6 +59,11 @@ import org.jspecify.nullness.NullMarked;
  * multiple class path entries contain the same packages but with different package info files,
  * depending on what arbitrary set of class path entries do or do not happen to be included in the
  * current compile.
+ *
+ * <p>Class path entries can be accompanied by a package summary, written by the compile of the
+ * library that produced them, in which case the package-info classes in the entry are never loaded.
+ * Loading those classes requires loading their annotations and everything they reference, which
+ * dominates the cost of the cache for deep dependency graphs.
  */
 public class PackageInfoCache {
 
@@ -102,6 +116,17 @@ public class PackageInfoCache {
   }
 
   public static void init(List<String> classPathEntries, Problems problems) {
+    init(classPathEntries, ImmutableMap.of(), problems);
+  }
+
+  /**
+   * Initializes the cache for the current thread, answering the questions about the class path
+   * entries in {@code packageSummaryByClassPathEntry} from their package summaries.
+   */
+  public static void init(
+      List<String> classPathEntries,
+      Map<String, String> packageSummaryByClassPathEntry,
+      Problems problems) {
     checkState(
         packageInfoCacheStorage.get() == null,
         "PackageInfoCache should only be initialized once per thread.");
@@ -120,7 +145,14 @@ public class PackageInfoCache {
         new URLClassLoader(
             Iterables.toArray(classPathUrls, URL.class), PackageInfoCache.class.getClassLoader());
 
-    packageInfoCacheStorage.set(new PackageInfoCache(resourcesClassLoader, problems));
+    Map<Path, Path> packageSummaryPathByClassPathEntry = new HashMap<>();
+    packageSummaryByClassPathEntry.forEach(
+        (classPathEntry, packageSummary) ->
+            packageSummaryPathByClassPathEntry.put(
+                toClassPathEntryPath(classPathEntry), Paths.get(packageSummary)));
+
+    packageInfoCacheStorage.set(
+        new PackageInfoCache(resourcesClassLoader, packageSummaryPathByClassPathEntry, problems));
   }
 
   private static String toSpecificPackagePath(String classPathEntry, String packagePath) {
@@ -131,9 +163,15 @@ public class PackageInfoCache {
   private final Map<String, PackageReport> packageReportBySpecificPackagePath = new HashMap<>();
   private final Map<String, PackageReport> packageReportByTypeName = new HashMap<>();
   private final ClassLoader resourcesClassLoader;
+  private final Map<Path, Path> packageSummaryPathByClassPathEntry;
+  private final Set<String> summarizedClassPathEntries = new HashSet<>();
 
-  private PackageInfoCache(ClassLoader resourcesClassLoader, Problems problems) {
+  private PackageInfoCache(
+      ClassLoader resourcesClassLoader,
+      Map<Path, Path> packageSummaryPathByClassPathEntry,
+      Problems problems) {
     this.resourcesClassLoader = resourcesClassLoader;
+    this.packageSummaryPathByClassPathEntry = packageSummaryPathByClassPathEntry;
     this.problems = problems;
   }
 
@@ -269,16 +307,96 @@ public class PackageInfoCache {
 
   private void parsePackageInfo(
       String classPathEntry, String packagePath, String topLevelTypeSourceName) {
-    Annotation[] packageAnnotations = findBytecodePackageAnnotations(classPathEntry, packagePath);
-
-    setPackageProperties(
-        classPathEntry,
-        packagePath,
-        getPackageJsNamespace(packageAnnotations),
-        hasNullMarkedAnnotation(packageAnnotations));
+    // Packages that are not in the summary of the entry have no package-info and hence get the
+    // default report.
+    if (!summarizedClassPathEntries.contains(classPathEntry)
+        && !readPackageSummary(classPathEntry)) {
+      Annotation[] packageAnnotations = findBytecodePackageAnnotations(classPathEntry, packagePath);
+
+      setPackageProperties(
+          classPathEntry,
+          packagePath,
+          getPackageJsNamespace(packageAnnotations),
+          hasNullMarkedAnnotation(packageAnnotations));
+    }
     propagateSpecificInfo(classPathEntry, topLevelTypeSourceName);
   }
 
+  /**
+   * Writes the summary of the packages whose package-info files are part of the current compile,
+   * so that compiles that have its output in their class path don't need to load them.
+   *
+   * <p>The summary has a line per package, with the package path, whether it is null marked and
+   * its JavaScript namespace if any, separated by tabs.
+   */
+  public void writePackageSummary(Path outputPath) {
+    String sourcePrefix = toSpecificPackagePath(SOURCE_CLASS_PATH_ENTRY, "");
+    Map<String, PackageReport> packageReportByPackagePath = new TreeMap<>();
+    packageReportBySpecificPackagePath.forEach(
+        (specificPackagePath, packageReport) -> {
+          if (specificPackagePath.startsWith(sourcePrefix)) {
+            packageReportByPackagePath.put(
+                specificPackagePath.substring(sourcePrefix.length()), packageReport);
+          }
+        });
+
+    StringBuilder summary = new StringBuilder();
+    packageReportByPackagePath.forEach(
+        (packagePath, packageReport) -> {
+          summary.append(packagePath).append('\t').append(packageReport.isNullMarked());
+          if (packageReport.getJsNamespace() != null) {
+            summary.append('\t').append(packageReport.getJsNamespace());
+          }
+          summary.append('\n');
+        });
+    OutputUtils.writeToFile(outputPath, summary.toString().getBytes(UTF_8), problems);
+  }
+
+  /**
+   * Records the reports for all the packages in the summary of {@code classPathEntry}, if it has
+   * one, and returns whether it did.
+   */
+  private boolean readPackageSummary(String classPathEntry) {
+    Path packageSummaryPath =
+        packageSummaryPathByClassPathEntry.get(toClassPathEntryPath(classPathEntry));
+    if (packageSummaryPath == null) {
+      return false;
+    }
+
+    List<String> lines;
+    try {
+      lines = Files.readAllLines(packageSummaryPath, UTF_8);
+    } catch (IOException e) {
+      problems.fatal(FatalError.CANNOT_OPEN_FILE, e.toString());
+      return false;
+    }
+    for (String line : lines) {
+      if (line.isEmpty()) {
+        continue;
+      }
+      String[] fields = line.split("\t", 3);
+      setPackageProperties(
+          classPathEntry,
+          fields[0],
+          fields.length > 2 ? fields[2] : null,
+          Boolean.parseBoolean(fields[1]));
+    }
+    summarizedClassPathEntries.add(classPathEntry);
+    return true;
+  }
+
+  /**
+   * Returns the canonical path of a class path entry, either as specified in the command line or
+   * as found by {@link #findOriginClassPathEntry}.
+   */
+  private static Path toClassPathEntryPath(String classPathEntry) {
+    String path =
+        classPathEntry.startsWith("file:")
+            ? classPathEntry.substring("file:".length())
+            : classPathEntry;
+    return Paths.get(path).toAbsolutePath().normalize();
+  }
+
   @Nullable
   private static String getPackageJsNamespace(Annotation[] packageAnnotations) {
     if (packageAnnotations == null) {
@@ -20,17 +20,26 @@ import com.google.j2cl.common.SourcePosition;
 import com.google.j2cl.transpiler.ast.AbstractRewriter;
 import com.google.j2cl.transpiler.ast.Block;
 import com.google.j2cl.transpiler.ast.CompilationUnit;
+import com.google.j2cl.transpiler.ast.NodeKinds;
 import com.google.j2cl.transpiler.ast.RuntimeMethods;
 import com.google.j2cl.transpiler.ast.Statement;
 import com.google.j2cl.transpiler.ast.SynchronizedStatement;
+import java.util.BitSet;
 
 /** Replaces synchronized statements with the corresponding method call to the runtime. */
 public class ImplementSynchronizedStatements extends NormalizationPass {
+  private static final BitSet NODE_KINDS_OF_INTEREST =
+      NodeKinds.of(NodeKinds.SYNCHRONIZED_STATEMENT);
 
   @Override
   public void applyTo(CompilationUnit compilationUnit) {
     compilationUnit.accept(
         new AbstractRewriter() {
+          @Override
+          public BitSet getNodeKindsOfInterest() {
+            return NODE_KINDS_OF_INTEREST;
+          }
+
           @Override
           public Statement rewriteSynchronizedStatement(
               SynchronizedStatement synchronizedStatement) {
@@ -22,6 +22,7 @@ import static com.google.common.collect.MoreCollectors.onlyElement;
 
 import com.google.common.base.Predicates;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMultimap;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.LinkedHashMultimap;
 import com.google.common.collect.Multimap;
@@ -71,8 +72,10 @@ import com.google.j2cl.transpiler.ast.Variable;
 import com.google.j2cl.transpiler.ast.VariableReference;
 import com.google.j2cl.transpiler.passes.ConversionContextVisitor.ContextRewriter;
 import java.util.ArrayDeque;
+import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Queue;
 import java.util.Set;
@@ -96,6 +99,9 @@ public class JsInteropRestrictionsChecker {
   private final boolean isNullMarkedSupported;
   private final boolean optimizeAutoValue;
   private boolean wasUnusableByJsWarningReported = false;
+  /** The instance JsMembers visible in each type, shared along the hierarchy. */
+  private final Map<DeclaredTypeDescriptor, Multimap<String, MemberDescriptor>>
+      instanceJsMembersByNameByTypeDescriptor = new HashMap<>();
 
   private JsInteropRestrictionsChecker(
       Problems problems,
@@ -169,10 +175,18 @@ public class JsInteropRestrictionsChecker {
     checkTypeVariables(type);
     checkSuperTypes(type);
 
+    // Name collisions are only checked for JsMembers, so there is no need to collect the names in
+    // the hierarchy of types that don't declare any, which is the case for most types.
+    boolean declaresJsMembers =
+        type.getMembers().stream()
+            .map(Member::getDescriptor)
+            .anyMatch(m -> isInstanceJsMember(m) || isStaticJsMember(m));
     Multimap<String, MemberDescriptor> instanceJsMembersByName =
-        collectInstanceNames(type.getTypeDescriptor());
+        declaresJsMembers
+            ? LinkedHashMultimap.create(collectInstanceNames(type.getTypeDescriptor()))
+            : ImmutableMultimap.of();
     Multimap<String, MemberDescriptor> staticJsMembersByName =
-        collectStaticNames(type.getTypeDescriptor());
+        declaresJsMembers ? collectStaticNames(type.getTypeDescriptor()) : ImmutableMultimap.of();
     for (Member member : type.getMembers()) {
       checkMember(member, instanceJsMembersByName, staticJsMembersByName);
     }
@@ -2008,10 +2022,21 @@ public class JsInteropRestrictionsChecker {
         && !memberDescriptor.isSynthetic();
   }
 
-  private static Multimap<String, MemberDescriptor> collectInstanceNames(
-      DeclaredTypeDescriptor typeDescriptor) {
+  /**
+   * Returns the instance JsMembers visible in {@code typeDescriptor} by name.
+   *
+   * <p>The result is shared by all the subtypes of the type and must not be modified.
+   */
+  private Multimap<String, MemberDescriptor> collectInstanceNames(
+      @Nullable DeclaredTypeDescriptor typeDescriptor) {
     if (typeDescriptor == null) {
-      return LinkedHashMultimap.create();
+      return ImmutableMultimap.of();
+    }
+
+    Multimap<String, MemberDescriptor> instanceMembersByName =
+        instanceJsMembersByNameByTypeDescriptor.get(typeDescriptor);
+    if (instanceMembersByName != null) {
+      return instanceMembersByName;
     }
 
     // The supertype of an interface is java.lang.Object. java.lang.Object methods need to be
@@ -2022,13 +2047,13 @@ public class JsInteropRestrictionsChecker {
         typeDescriptor.isInterface() && !typeDescriptor.isNative()
             ? TypeDescriptors.get().javaLangObject
             : typeDescriptor.getSuperTypeDescriptor();
-    Multimap<String, MemberDescriptor> instanceMembersByName =
-        collectInstanceNames(superTypeDescriptor);
+    instanceMembersByName = LinkedHashMultimap.create(collectInstanceNames(superTypeDescriptor));
     for (MemberDescriptor member : typeDescriptor.getDeclaredMemberDescriptors()) {
       if (isInstanceJsMember(member)) {
         addMember(instanceMembersByName, member);
       }
     }
+    instanceJsMembersByNameByTypeDescriptor.put(typeDescriptor, instanceMembersByName);
     return instanceMembersByName;
   }
 
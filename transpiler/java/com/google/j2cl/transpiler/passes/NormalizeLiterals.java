@@ -37,12 +37,12 @@ public class NormalizeLiterals extends NormalizationPass {
               int intValue = numberLiteral.getValue().intValue();
 
               if (longValue == intValue) {
-                return RuntimeMethods.createNativeLongMethodCall(
+                return RuntimeMethods.createLongUtilsMethodCall(
                     "fromInt", NumberLiteral.fromInt(intValue));
               } else {
                 long lowOrderBits = longValue << 32 >> 32;
                 long highOrderBits = longValue >> 32;
-                return RuntimeMethods.createNativeLongMethodCall(
+                return RuntimeMethods.createLongUtilsMethodCall(
                         "fromBits",
                         NumberLiteral.fromInt((int) lowOrderBits),
                         NumberLiteral.fromInt((int) highOrderBits))
@@ -23,19 +23,29 @@ import com.google.j2cl.transpiler.ast.BinaryExpression;
 import com.google.j2cl.transpiler.ast.BinaryOperator;
 import com.google.j2cl.transpiler.ast.CompilationUnit;
 import com.google.j2cl.transpiler.ast.Expression;
+import com.google.j2cl.transpiler.ast.NodeKinds;
 import com.google.j2cl.transpiler.ast.PrefixExpression;
 import com.google.j2cl.transpiler.ast.PrefixOperator;
 import com.google.j2cl.transpiler.ast.RuntimeMethods;
 import com.google.j2cl.transpiler.ast.TypeDescriptor;
 import com.google.j2cl.transpiler.ast.TypeDescriptors;
+import java.util.BitSet;
 import javax.annotation.Nullable;
 
 /** Replaces long operations with corresponding long utils method calls. */
 public class NormalizeLongs extends NormalizationPass {
+  private static final BitSet NODE_KINDS_OF_INTEREST =
+      NodeKinds.of(NodeKinds.BINARY_EXPRESSION, NodeKinds.PREFIX_EXPRESSION);
+
   @Override
   public void applyTo(CompilationUnit compilationUnit) {
     compilationUnit.accept(
         new AbstractRewriter() {
+          @Override
+          public BitSet getNodeKindsOfInterest() {
+            return NODE_KINDS_OF_INTEREST;
+          }
+
           @Override
           public Expression rewriteBinaryExpression(BinaryExpression binaryExpression) {
             Expression leftOperand = binaryExpression.getLeftOperand();
@@ -26,6 +26,7 @@ import com.google.j2cl.transpiler.ast.CompilationUnit;
 import com.google.j2cl.transpiler.ast.Expression;
 import com.google.j2cl.transpiler.ast.IfStatement;
 import com.google.j2cl.transpiler.ast.MethodCall;
+import com.google.j2cl.transpiler.ast.NodeKinds;
 import com.google.j2cl.transpiler.ast.RuntimeMethods;
 import com.google.j2cl.transpiler.ast.Statement;
 import com.google.j2cl.transpiler.ast.ThrowStatement;
@@ -35,14 +36,22 @@ import com.google.j2cl.transpiler.ast.Variable;
 import com.google.j2cl.transpiler.ast.VariableDeclarationExpression;
 import com.google.j2cl.transpiler.ast.VariableDeclarationFragment;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 
 /** Normalize Java try with resource blocks such that they can be represented in JavaScript. */
 public class NormalizeTryWithResources extends NormalizationPass {
+  private static final BitSet NODE_KINDS_OF_INTEREST = NodeKinds.of(NodeKinds.TRY_STATEMENT);
+
   @Override
   public void applyTo(CompilationUnit compilationUnit) {
     compilationUnit.accept(
         new AbstractRewriter() {
+          @Override
+          public BitSet getNodeKindsOfInterest() {
+            return NODE_KINDS_OF_INTEREST;
+          }
+
           /**
            * We want to rewrite the try with resource statement to use vanilla try catch statements
            * as described by the JLS 14.20.3.1.
@@ -0,0 +1,285 @@
+/*
+ * Copyright 2022 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.j2cl.transpiler.passes;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+
+import com.google.j2cl.transpiler.ast.AbstractRewriter;
+import com.google.j2cl.transpiler.ast.AbstractVisitor;
+import com.google.j2cl.transpiler.ast.BinaryExpression;
+import com.google.j2cl.transpiler.ast.CompilationUnit;
+import com.google.j2cl.transpiler.ast.Expression;
+import com.google.j2cl.transpiler.ast.FieldAccess;
+import com.google.j2cl.transpiler.ast.FieldDescriptor;
+import com.google.j2cl.transpiler.ast.ForStatement;
+import com.google.j2cl.transpiler.ast.FunctionExpression;
+import com.google.j2cl.transpiler.ast.Invocation;
+import com.google.j2cl.transpiler.ast.Literal;
+import com.google.j2cl.transpiler.ast.Node;
+import com.google.j2cl.transpiler.ast.PrimitiveTypes;
+import com.google.j2cl.transpiler.ast.Statement;
+import com.google.j2cl.transpiler.ast.TypeDescriptors;
+import com.google.j2cl.transpiler.ast.UnaryExpression;
+import com.google.j2cl.transpiler.ast.Variable;
+import com.google.j2cl.transpiler.ast.VariableDeclarationExpression;
+import com.google.j2cl.transpiler.ast.VariableReference;
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.Nullable;
+
+/**
+ * Hoists the loads of the array length and the backing native array out of counted loops over an
+ * array.
+ *
+ * <p>After {@link ImplementArraysAsClasses} every access to an element of a Java array goes through
+ * the {@code elements} field of the corresponding {@code WasmArray} class and every length check
+ * reads its {@code length} field. For loops of the canonical form
+ *
+ * <pre>{@code
+ * for (int i = 0; i < a.length; i++) {
+ *   sum += a.elements[i];
+ * }
+ * }</pre>
+ *
+ * <p>where {@code a} is a local variable or parameter, these loads are loop invariant as long as
+ * the loop does not reassign {@code a} and does not execute code that could resize the array.
+ * Such loops are rewritten to
+ *
+ * <pre>{@code
+ * for (int i = 0, $length = a.length, $elements = a.elements; i < $length; i++) {
+ *   sum += $elements[i];
+ * }
+ * }</pre>
+ *
+ * <p>Note that since the length is read in the first evaluation of the condition, hoisting it to
+ * the end of the initializers does not change when a {@code NullPointerException} is thrown.
+ */
+public class OptimizeArrayLoopsWasm extends NormalizationPass {
+  @Override
+  public void applyTo(CompilationUnit compilationUnit) {
+    compilationUnit.accept(
+        new AbstractRewriter() {
+          @Override
+          public Statement rewriteForStatement(ForStatement forStatement) {
+            FieldAccess lengthAccess = getArrayLengthBound(forStatement.getConditionExpression());
+            if (lengthAccess == null) {
+              return forStatement;
+            }
+
+            Variable arrayVariable = ((VariableReference) lengthAccess.getQualifier()).getTarget();
+            if (!isArrayInvariantInLoop(forStatement, arrayVariable)) {
+              return forStatement;
+            }
+
+            return hoistArrayLoads(forStatement, lengthAccess);
+          }
+        });
+  }
+
+  /**
+   * Returns the {@code a.length} field access if the condition is of the form {@code i < a.length}
+   * where {@code a} is a variable, and {@code null} otherwise.
+   */
+  @Nullable
+  private static FieldAccess getArrayLengthBound(Expression conditionExpression) {
+    if (!(conditionExpression instanceof BinaryExpression)) {
+      return null;
+    }
+
+    BinaryExpression binaryExpression = (BinaryExpression) conditionExpression;
+    if (!binaryExpression.getOperator().isRelationalOperator()) {
+      return null;
+    }
+
+    Expression leftOperand = binaryExpression.getLeftOperand();
+    Expression rightOperand = binaryExpression.getRightOperand();
+    if (isArrayLengthOfVariable(rightOperand) && isTrivial(leftOperand)) {
+      return (FieldAccess) rightOperand;
+    }
+    if (isArrayLengthOfVariable(leftOperand) && isTrivial(rightOperand)) {
+      return (FieldAccess) leftOperand;
+    }
+    return null;
+  }
+
+  /** Returns true if the expression can neither throw nor have side effects. */
+  private static boolean isTrivial(Expression expression) {
+    return expression instanceof VariableReference || expression instanceof Literal;
+  }
+
+  /**
+   * Returns true if the loop does not modify {@code arrayVariable} and does not run any code that
+   * could modify the length or backing array of a Java array.
+   */
+  private static boolean isArrayInvariantInLoop(ForStatement forStatement, Variable arrayVariable) {
+    boolean[] isInvariant = {true};
+    AbstractVisitor visitor =
+        new AbstractVisitor() {
+          @Override
+          public boolean enterInvocation(Invocation invocation) {
+            // Calls and instantiations can run arbitrary code.
+            isInvariant[0] = false;
+            return false;
+          }
+
+          @Override
+          public boolean enterFunctionExpression(FunctionExpression functionExpression) {
+            isInvariant[0] = false;
+            return false;
+          }
+
+          @Override
+          public void exitBinaryExpression(BinaryExpression binaryExpression) {
+            if (binaryExpression.getOperator().hasSideEffect()) {
+              checkNotModified(binaryExpression.getLeftOperand());
+            }
+          }
+
+          @Override
+          public void exitUnaryExpression(UnaryExpression unaryExpression) {
+            if (unaryExpression.getOperator().hasSideEffect()) {
+              checkNotModified(unaryExpression.getOperand());
+            }
+          }
+
+          private void checkNotModified(Expression lvalue) {
+            if (lvalue instanceof VariableReference
+                && ((VariableReference) lvalue).getTarget() == arrayVariable) {
+              isInvariant[0] = false;
+            }
+            if (lvalue instanceof FieldAccess
+                && (isWasmArrayLengthField(((FieldAccess) lvalue).getTarget())
+                    || isWasmArrayElementsField(((FieldAccess) lvalue).getTarget()))) {
+              isInvariant[0] = false;
+            }
+          }
+        };
+
+    forStatement.getConditionExpression().accept(visitor);
+    forStatement.getUpdates().forEach(u -> u.accept(visitor));
+    forStatement.getBody().accept(visitor);
+    return isInvariant[0];
+  }
+
+  private static ForStatement hoistArrayLoads(ForStatement forStatement, FieldAccess lengthAccess) {
+    Variable arrayVariable = ((VariableReference) lengthAccess.getQualifier()).getTarget();
+
+    Variable lengthVariable =
+        Variable.newBuilder()
+            .setName("$length")
+            .setTypeDescriptor(PrimitiveTypes.INT)
+            .setFinal(true)
+            .build();
+
+    // Find the type of the native array by looking at the first access to the backing array.
+    FieldDescriptor[] elementsFieldDescriptor = {null};
+    forStatement
+        .getBody()
+        .accept(
+            new AbstractVisitor() {
+              @Override
+              public void exitFieldAccess(FieldAccess fieldAccess) {
+                if (elementsFieldDescriptor[0] == null
+                    && isElementsAccessOf(fieldAccess, arrayVariable)) {
+                  elementsFieldDescriptor[0] = fieldAccess.getTarget();
+                }
+              }
+            });
+
+    Variable elementsVariable =
+        elementsFieldDescriptor[0] == null
+            ? null
+            : Variable.newBuilder()
+                .setName("$elements")
+                .setTypeDescriptor(elementsFieldDescriptor[0].getTypeDescriptor())
+                .setFinal(true)
+                .build();
+
+    // Replace the loads in the loop with references to the hoisted variables. Note that the
+    // initializers are not rewritten since they are evaluated before the hoisted loads.
+    AbstractRewriter replaceLoadsRewriter =
+        new AbstractRewriter() {
+          @Override
+          public Node rewriteFieldAccess(FieldAccess fieldAccess) {
+            if (!isAccessOf(fieldAccess, arrayVariable)) {
+              return fieldAccess;
+            }
+            if (isWasmArrayLengthField(fieldAccess.getTarget())) {
+              return lengthVariable.createReference();
+            }
+            if (elementsVariable != null && isWasmArrayElementsField(fieldAccess.getTarget())) {
+              return elementsVariable.createReference();
+            }
+            return fieldAccess;
+          }
+        };
+    Expression conditionExpression =
+        (Expression) forStatement.getConditionExpression().accept(replaceLoadsRewriter);
+    List<Expression> updates =
+        forStatement.getUpdates().stream()
+            .map(u -> (Expression) u.accept(replaceLoadsRewriter))
+            .collect(toImmutableList());
+    Statement body = (Statement) forStatement.getBody().accept(replaceLoadsRewriter);
+
+    // Load the length first, since it is the load that the condition would have done first.
+    VariableDeclarationExpression.Builder hoistedDeclarationsBuilder =
+        VariableDeclarationExpression.newBuilder()
+            .addVariableDeclaration(lengthVariable, lengthAccess);
+    if (elementsVariable != null) {
+      hoistedDeclarationsBuilder.addVariableDeclaration(
+          elementsVariable,
+          FieldAccess.Builder.from(elementsFieldDescriptor[0])
+              .setQualifier(arrayVariable.createReference())
+              .build());
+    }
+
+    List<Expression> initializers = new ArrayList<>(forStatement.getInitializers());
+    initializers.add(hoistedDeclarationsBuilder.build());
+    return ForStatement.Builder.from(forStatement)
+        .setInitializers(initializers)
+        .setConditionExpression(conditionExpression)
+        .setUpdates(updates)
+        .setBody(body)
+        .build();
+  }
+
+  private static boolean isArrayLengthOfVariable(Expression expression) {
+    return expression instanceof FieldAccess
+        && ((FieldAccess) expression).getQualifier() instanceof VariableReference
+        && isWasmArrayLengthField(((FieldAccess) expression).getTarget());
+  }
+
+  private static boolean isElementsAccessOf(FieldAccess fieldAccess, Variable variable) {
+    return isAccessOf(fieldAccess, variable) && isWasmArrayElementsField(fieldAccess.getTarget());
+  }
+
+  private static boolean isAccessOf(FieldAccess fieldAccess, Variable variable) {
+    return fieldAccess.getQualifier() instanceof VariableReference
+        && ((VariableReference) fieldAccess.getQualifier()).getTarget() == variable;
+  }
+
+  private static boolean isWasmArrayLengthField(FieldDescriptor fieldDescriptor) {
+    return fieldDescriptor.getName().equals("length")
+        && TypeDescriptors.get()
+            .javaemulInternalWasmArray
+            .isSameBaseType(fieldDescriptor.getEnclosingTypeDescriptor());
+  }
+
+  private static boolean isWasmArrayElementsField(FieldDescriptor fieldDescriptor) {
+    return fieldDescriptor.getName().equals("elements")
+        && TypeDescriptors.isWasmArraySubtype(fieldDescriptor.getEnclosingTypeDescriptor());
+  }
+}
@@ -0,0 +1,245 @@
+/*
+ * Copyright 2022 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.j2cl.transpiler.passes;
+
+import com.google.common.collect.Iterables;
+import com.google.j2cl.transpiler.ast.AbstractRewriter;
+import com.google.j2cl.transpiler.ast.AbstractVisitor;
+import com.google.j2cl.transpiler.ast.BinaryExpression;
+import com.google.j2cl.transpiler.ast.CompilationUnit;
+import com.google.j2cl.transpiler.ast.Expression;
+import com.google.j2cl.transpiler.ast.ExpressionStatement;
+import com.google.j2cl.transpiler.ast.ForStatement;
+import com.google.j2cl.transpiler.ast.MethodCall;
+import com.google.j2cl.transpiler.ast.MethodDescriptor;
+import com.google.j2cl.transpiler.ast.Node;
+import com.google.j2cl.transpiler.ast.PrimitiveTypeDescriptor;
+import com.google.j2cl.transpiler.ast.TypeDescriptor;
+import com.google.j2cl.transpiler.ast.TypeDescriptors;
+import com.google.j2cl.transpiler.ast.Variable;
+import com.google.j2cl.transpiler.ast.VariableDeclarationFragment;
+import com.google.j2cl.transpiler.ast.VariableReference;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Removes boxing conversions whose result is never observed as an object.
+ *
+ * <p>This pass needs to run after boxing and unboxing conversions have been made explicit and
+ * performs two related rewrites:
+ *
+ * <ul>
+ *   <li>Unboxing of a value that was just boxed, e.g. {@code Integer.valueOf(i).intValue()}, is
+ *       replaced by the primitive value itself.
+ *   <li>Local variables of a boxed type that are only ever assigned freshly boxed values and only
+ *       ever read to be unboxed are retyped to the corresponding primitive type. This is common
+ *       with code like
+ *       <pre>{@code
+ * Integer count = 0;
+ * for (...) {
+ *   count++;
+ * }
+ * }</pre>
+ *       which after the expansion of the compound assignment and the insertion of the conversions
+ *       allocates a box in each iteration.
+ * </ul>
+ *
+ * <p>Since the identity of those boxes can not be observed and they can never be null, replacing
+ * them with the primitive values does not change the semantics of the program.
+ */
+public class RemoveUnneededBoxingConversions extends NormalizationPass {
+
+  @Override
+  public void applyTo(CompilationUnit compilationUnit) {
+    unboxLocalVariables(compilationUnit, collectUnboxableVariables(compilationUnit));
+    removeBoxingRoundTrips(compilationUnit);
+  }
+
+  /** Collects the local variables whose boxed values are never observed as objects. */
+  private static Set<Variable> collectUnboxableVariables(CompilationUnit compilationUnit) {
+    Set<Variable> candidates = new LinkedHashSet<>();
+    Set<Variable> disqualified = new HashSet<>();
+    Set<BinaryExpression> boxingAssignments = new HashSet<>();
+
+    compilationUnit.accept(
+        new AbstractVisitor() {
+          @Override
+          public void exitVariableDeclarationFragment(VariableDeclarationFragment fragment) {
+            Variable variable = fragment.getVariable();
+            if (!variable.isParameter()
+                && TypeDescriptors.isBoxedType(variable.getTypeDescriptor())
+                && (fragment.getInitializer() == null
+                    || isBoxingOf(fragment.getInitializer(), variable.getTypeDescriptor()))) {
+              candidates.add(variable);
+            } else {
+              disqualified.add(variable);
+            }
+          }
+
+          @Override
+          public boolean enterExpressionStatement(ExpressionStatement expressionStatement) {
+            recordIfBoxingAssignment(expressionStatement.getExpression());
+            return true;
+          }
+
+          @Override
+          public boolean enterForStatement(ForStatement forStatement) {
+            forStatement.getUpdates().forEach(this::recordIfBoxingAssignment);
+            return true;
+          }
+
+          /** Records assignments of a boxed value whose result is not used. */
+          private void recordIfBoxingAssignment(Expression expression) {
+            if (!(expression instanceof BinaryExpression)) {
+              return;
+            }
+            BinaryExpression binaryExpression = (BinaryExpression) expression;
+            if (binaryExpression.isSimpleAssignment()
+                && binaryExpression.getLeftOperand() instanceof VariableReference
+                && isBoxingOf(
+                    binaryExpression.getRightOperand(),
+                    binaryExpression.getLeftOperand().getTypeDescriptor())) {
+              boxingAssignments.add(binaryExpression);
+            }
+          }
+
+          @Override
+          public void exitVariableReference(VariableReference variableReference) {
+            Object parent = getParent();
+            boolean isUnboxingQualifier =
+                parent instanceof MethodCall
+                    && ((MethodCall) parent).getQualifier() == variableReference
+                    && isUnboxingCall((MethodCall) parent);
+            boolean isBoxingAssignmentTarget =
+                boxingAssignments.contains(parent)
+                    && ((BinaryExpression) parent).getLeftOperand() == variableReference;
+            if (!isUnboxingQualifier && !isBoxingAssignmentTarget) {
+              disqualified.add(variableReference.getTarget());
+            }
+          }
+        });
+
+    candidates.removeAll(disqualified);
+    return candidates;
+  }
+
+  /** Retypes the variables to their primitive type and removes the corresponding conversions. */
+  private static void unboxLocalVariables(
+      CompilationUnit compilationUnit, Set<Variable> unboxableVariables) {
+    if (unboxableVariables.isEmpty()) {
+      return;
+    }
+
+    for (Variable variable : unboxableVariables) {
+      variable.setTypeDescriptor(variable.getTypeDescriptor().toUnboxedType());
+    }
+
+    compilationUnit.accept(
+        new AbstractRewriter() {
+          @Override
+          public Node rewriteVariableDeclarationFragment(VariableDeclarationFragment fragment) {
+            if (!unboxableVariables.contains(fragment.getVariable())
+                || fragment.getInitializer() == null) {
+              return fragment;
+            }
+            return VariableDeclarationFragment.Builder.from(fragment)
+                .setInitializer(getBoxedValue(fragment.getInitializer()))
+                .build();
+          }
+
+          @Override
+          public Expression rewriteBinaryExpression(BinaryExpression binaryExpression) {
+            if (!binaryExpression.isSimpleAssignment()
+                || !isReferenceTo(binaryExpression.getLeftOperand(), unboxableVariables)) {
+              return binaryExpression;
+            }
+            return BinaryExpression.Builder.from(binaryExpression)
+                .setRightOperand(getBoxedValue(binaryExpression.getRightOperand()))
+                .build();
+          }
+
+          @Override
+          public Expression rewriteMethodCall(MethodCall methodCall) {
+            if (!isUnboxingCall(methodCall)
+                || !isReferenceTo(methodCall.getQualifier(), unboxableVariables)) {
+              return methodCall;
+            }
+            return methodCall.getQualifier();
+          }
+        });
+  }
+
+  /** Replaces {@code Integer.valueOf(e).intValue()} and similar by {@code e}. */
+  private static void removeBoxingRoundTrips(CompilationUnit compilationUnit) {
+    compilationUnit.accept(
+        new AbstractRewriter() {
+          @Override
+          public Expression rewriteMethodCall(MethodCall methodCall) {
+            if (!isUnboxingCall(methodCall)
+                || !isBoxingOf(
+                    methodCall.getQualifier(),
+                    methodCall.getTarget().getEnclosingTypeDescriptor())) {
+              return methodCall;
+            }
+            return getBoxedValue(methodCall.getQualifier());
+          }
+        });
+  }
+
+  /** Returns true if {@code expression} is a call to {@code valueOf} boxing into {@code type}. */
+  private static boolean isBoxingOf(Expression expression, TypeDescriptor boxedTypeDescriptor) {
+    if (!(expression instanceof MethodCall) || !TypeDescriptors.isBoxedType(boxedTypeDescriptor)) {
+      return false;
+    }
+    MethodDescriptor target = ((MethodCall) expression).getTarget();
+    return target.isStatic()
+        && target.getName().equals(MethodDescriptor.VALUE_OF_METHOD_NAME)
+        && TypeDescriptors.isBoxedType(target.getEnclosingTypeDescriptor())
+        && target.getParameterTypeDescriptors().size() == 1
+        && target
+            .getParameterTypeDescriptors()
+            .get(0)
+            .equals(target.getEnclosingTypeDescriptor().toUnboxedType())
+        && target
+            .getEnclosingTypeDescriptor()
+            .toUnboxedType()
+            .equals(boxedTypeDescriptor.toUnboxedType());
+  }
+
+  /** Returns true if {@code methodCall} is a call to the unboxing method, e.g. {@code intValue}. */
+  private static boolean isUnboxingCall(MethodCall methodCall) {
+    MethodDescriptor target = methodCall.getTarget();
+    if (target.isStatic()
+        || !target.getParameterDescriptors().isEmpty()
+        || !TypeDescriptors.isBoxedType(target.getEnclosingTypeDescriptor())) {
+      return false;
+    }
+    PrimitiveTypeDescriptor primitiveTypeDescriptor =
+        target.getEnclosingTypeDescriptor().toUnboxedType();
+    return target.getName().equals(primitiveTypeDescriptor.getSimpleSourceName() + "Value")
+        && methodCall.getQualifier() != null;
+  }
+
+  private static Expression getBoxedValue(Expression boxingExpression) {
+    return Iterables.getOnlyElement(((MethodCall) boxingExpression).getArguments());
+  }
+
+  private static boolean isReferenceTo(Expression expression, Set<Variable> variables) {
+    return expression instanceof VariableReference
+        && variables.contains(((VariableReference) expression).getTarget());
+  }
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright 2022 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.j2cl.transpiler.passes;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+
+import com.google.common.collect.ImmutableList;
+import com.google.j2cl.transpiler.ast.AbstractRewriter;
+import com.google.j2cl.transpiler.ast.Block;
+import com.google.j2cl.transpiler.ast.Expression;
+import com.google.j2cl.transpiler.ast.ExpressionStatement;
+import com.google.j2cl.transpiler.ast.Library;
+import com.google.j2cl.transpiler.ast.Method;
+import com.google.j2cl.transpiler.ast.MethodCall;
+import com.google.j2cl.transpiler.ast.MethodDescriptor.MethodOrigin;
+import com.google.j2cl.transpiler.ast.MultiExpression;
+import com.google.j2cl.transpiler.ast.Node;
+import com.google.j2cl.transpiler.ast.Statement;
+import com.google.j2cl.transpiler.ast.TypeDeclaration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nullable;
+
+/**
+ * Removes calls to class initializers ($clinit) that are known to be redundant.
+ *
+ * <p>A call is considered redundant if either:
+ *
+ * <ul>
+ *   <li>the class initializer of the target type does not perform any initialization besides
+ *       calling other redundant class initializers, which is the case for most types after constant
+ *       propagation, or
+ *   <li>it is dominated by an unconditional call to the class initializer of the same type, or of
+ *       one of its subclasses, earlier in the same or an enclosing block.
+ * </ul>
+ *
+ * <p>Note that this pass needs to see the whole program to determine that a class initializer is a
+ * no-op and it is expected to run right after {@link ImplementStaticInitializationViaConditionChecks}.
+ */
+public class RemoveUnneededClinitCalls extends LibraryNormalizationPass {
+
+  @Override
+  public void applyTo(Library library) {
+    Set<TypeDeclaration> typesWithNoopClinit = collectTypesWithNoopClinit(library);
+    removeUnneededClinitCalls(library, typesWithNoopClinit);
+  }
+
+  /**
+   * Returns the types whose class initializer have no observable effect.
+   *
+   * <p>The body of a class initializer starts with the guard that checks and sets the initialized
+   * flag; the rest of the body is the code from static initializers and field initializers. Those
+   * that only contain calls to other no-op class initializers are considered no-ops themselves.
+   */
+  private static Set<TypeDeclaration> collectTypesWithNoopClinit(Library library) {
+    Map<TypeDeclaration, Set<TypeDeclaration>> clinitDependenciesByType = new HashMap<>();
+    library
+        .streamTypes()
+        .forEach(
+            t ->
+                t.getMethods().stream()
+                    .filter(RemoveUnneededClinitCalls::isClinitMethod)
+                    .forEach(
+                        m -> {
+                          Set<TypeDeclaration> dependencies = getClinitDependencies(m);
+                          if (dependencies != null) {
+                            clinitDependenciesByType.put(t.getDeclaration(), dependencies);
+                          }
+                        }));
+
+    // Compute the fixpoint by discarding types that depend on class initializers that are not
+    // known to be no-ops.
+    Set<TypeDeclaration> typesWithNoopClinit = new HashSet<>(clinitDependenciesByType.keySet());
+    boolean changed;
+    do {
+      changed =
+          typesWithNoopClinit.removeIf(
+              t -> !typesWithNoopClinit.containsAll(clinitDependenciesByType.get(t)));
+    } while (changed);
+    return typesWithNoopClinit;
+  }
+
+  /**
+   * Returns the types whose class initializers are called from {@code clinit} or {@code null} if
+   * the class initializer does anything else.
+   */
+  @Nullable
+  private static Set<TypeDeclaration> getClinitDependencies(Method clinit) {
+    List<Statement> statements = clinit.getBody().getStatements();
+    if (statements.size() < 2) {
+      // Not the class initializer synthesized by ImplementStaticInitializationViaConditionChecks.
+      return null;
+    }
+
+    Set<TypeDeclaration> dependencies = new HashSet<>();
+    // Skip the "if ($initialized) return; $initialized = true;" preamble.
+    for (Statement statement : statements.subList(2, statements.size())) {
+      if (statement.isNoop()) {
+        continue;
+      }
+      TypeDeclaration clinitTarget = getClinitTarget(statement);
+      if (clinitTarget == null) {
+        return null;
+      }
+      dependencies.add(clinitTarget);
+    }
+    return dependencies;
+  }
+
+  private static void removeUnneededClinitCalls(
+      Library library, Set<TypeDeclaration> typesWithNoopClinit) {
+    library.accept(
+        new AbstractRewriter() {
+          /** Sets of types known to be initialized at each enclosing block. */
+          private final Deque<Set<TypeDeclaration>> initializedTypesByScope = new ArrayDeque<>();
+
+          @Override
+          public boolean shouldProcessBlock(Block block) {
+            Set<TypeDeclaration> enclosingInitializedTypes = initializedTypesByScope.peek();
+            initializedTypesByScope.push(
+                enclosingInitializedTypes == null
+                    ? new HashSet<>()
+                    : new HashSet<>(enclosingInitializedTypes));
+            return true;
+          }
+
+          @Override
+          public Node rewriteBlock(Block block) {
+            initializedTypesByScope.pop();
+            return block;
+          }
+
+          @Override
+          public Statement rewriteExpressionStatement(ExpressionStatement statement) {
+            TypeDeclaration clinitTarget = getClinitTarget(statement);
+            if (clinitTarget != null && isUnneeded(clinitTarget)) {
+              return Statement.createNoopStatement();
+            }
+
+            if (getParent() instanceof Block) {
+              // The statement is executed unconditionally before any subsequent statement in the
+              // block, record the class initializers it triggers.
+              Expression expression = statement.getExpression();
+              List<Expression> expressions =
+                  expression instanceof MultiExpression
+                      ? ((MultiExpression) expression).getExpressions()
+                      : ImmutableList.of(expression);
+              expressions.stream()
+                  .map(RemoveUnneededClinitCalls::getClinitTarget)
+                  .filter(t -> t != null)
+                  .forEach(this::recordInitialized);
+            }
+            return statement;
+          }
+
+          @Override
+          public Expression rewriteMultiExpression(MultiExpression multiExpression) {
+            List<Expression> expressions = multiExpression.getExpressions();
+            List<Expression> neededExpressions =
+                expressions.stream()
+                    .filter(
+                        e -> {
+                          TypeDeclaration clinitTarget = getClinitTarget(e);
+                          return clinitTarget == null || !isUnneeded(clinitTarget);
+                        })
+                    .collect(toImmutableList());
+            if (neededExpressions.size() == expressions.size()) {
+              return multiExpression;
+            }
+            return MultiExpression.newBuilder().setExpressions(neededExpressions).build();
+          }
+
+          private boolean isUnneeded(TypeDeclaration clinitTarget) {
+            if (typesWithNoopClinit.contains(clinitTarget)) {
+              return true;
+            }
+            Set<TypeDeclaration> initializedTypes = initializedTypesByScope.peek();
+            return initializedTypes != null && initializedTypes.contains(clinitTarget);
+          }
+
+          private void recordInitialized(TypeDeclaration typeDeclaration) {
+            Set<TypeDeclaration> initializedTypes = initializedTypesByScope.peek();
+            // Calling the class initializer of a class guarantees that the class initializers of
+            // all its superclasses have been called.
+            for (TypeDeclaration t = typeDeclaration; t != null; t = t.getSuperTypeDeclaration()) {
+              initializedTypes.add(t);
+            }
+          }
+        });
+  }
+
+  /**
+   * Returns the type whose class initializer is called by {@code node} or {@code null} if the node
+   * is not a class initializer call.
+   */
+  @Nullable
+  private static TypeDeclaration getClinitTarget(Node node) {
+    if (node instanceof ExpressionStatement) {
+      return getClinitTarget(((ExpressionStatement) node).getExpression());
+    }
+    if (!(node instanceof MethodCall)) {
+      return null;
+    }
+    MethodCall methodCall = (MethodCall) node;
+    if (methodCall.getTarget().getOrigin() != MethodOrigin.SYNTHETIC_CLASS_INITIALIZER) {
+      return null;
+    }
+    return methodCall.getTarget().getEnclosingTypeDescriptor().getTypeDeclaration();
+  }
+
+  private static boolean isClinitMethod(Method method) {
+    return method.getDescriptor().getOrigin() == MethodOrigin.SYNTHETIC_CLASS_INITIALIZER;
+  }
+}
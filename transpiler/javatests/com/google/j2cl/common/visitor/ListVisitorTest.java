@@ -0,0 +1,67 @@
+/*
+ * Copyright 2022 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.j2cl.common.visitor;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public final class ListVisitorTest {
+
+  @Test
+  public void testInterleavedRemovalsAndReplacements() {
+    List<String> nodes = new ArrayList<>(Arrays.asList("a", "-b", "c", "-d", "-e", "f", "g", "-h"));
+    List<String> visitedNodes = new ArrayList<>();
+
+    ListVisitor.visit(
+        nodes,
+        visitedNodes,
+        (node, visited) -> {
+          visited.add(node);
+          if (node.startsWith("-")) {
+            return null;
+          }
+          return node.equals("c") || node.equals("g") ? node.toUpperCase() : node;
+        });
+
+    assertThat(visitedNodes).containsExactly("a", "-b", "c", "-d", "-e", "f", "g", "-h").inOrder();
+    assertThat(nodes).containsExactly("a", "C", "f", "G").inOrder();
+  }
+
+  @Test
+  public void testReplacementsOnly() {
+    List<String> nodes = new ArrayList<>(Arrays.asList("a", "b", "c"));
+
+    ListVisitor.visit(nodes, null, (node, unused) -> node.equals("b") ? "B" : node);
+
+    assertThat(nodes).containsExactly("a", "B", "c").inOrder();
+  }
+
+  @Test
+  public void testRemoveAll() {
+    List<String> nodes = new ArrayList<>(Arrays.asList("a", "b", "c"));
+
+    ListVisitor.visit(nodes, null, (node, unused) -> null);
+
+    assertThat(nodes).isEmpty();
+  }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2022 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package wasmarrayloops;
+
+public class WasmArrayLoops {
+  interface IntFunction {
+    int apply(int i);
+  }
+
+  public static int sum(int[] a) {
+    int sum = 0;
+    for (int i = 0; i < a.length; i++) {
+      sum += a[i];
+    }
+    return sum;
+  }
+
+  public static int sumWithCall(int[] a) {
+    int sum = 0;
+    for (int i = 0; i < a.length; i++) {
+      // The callee could resize the array, the loads are not hoisted.
+      sum += identity(a[i]);
+    }
+    return sum;
+  }
+
+  public static int sumWithReassignment(int[] a, int[] b) {
+    int sum = 0;
+    for (int i = 0; i < a.length; i++) {
+      sum += a[i];
+      a = b;
+    }
+    return sum;
+  }
+
+  public static IntFunction createGetter(int[] a) {
+    IntFunction getter = null;
+    for (int i = 0; i < a.length; i++) {
+      // Lambdas are instantiated like any other class, the loads are not hoisted.
+      getter = j -> a[j];
+    }
+    return getter;
+  }
+
+  private static int identity(int i) {
+    return i;
+  }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2022 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package wasmboxedlocals;
+
+public class WasmBoxedLocals {
+  public static int countUp(int n) {
+    // The boxes are never observed, count becomes an int.
+    Integer count = 0;
+    for (int i = 0; i < n; i++) {
+      count++;
+    }
+    return count;
+  }
+
+  public static Integer countUpAndReturnBoxed(int n) {
+    // The box escapes through the return, count stays an Integer.
+    Integer count = 0;
+    for (int i = 0; i < n; i++) {
+      count++;
+    }
+    return count;
+  }
+
+  public static int unboxBoxed(int n) {
+    return Integer.valueOf(n).intValue();
+  }
+}
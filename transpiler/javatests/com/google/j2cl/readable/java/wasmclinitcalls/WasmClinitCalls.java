@@ -0,0 +1,43 @@
+/*
+ * Copyright 2022 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package wasmclinitcalls;
+
+public class WasmClinitCalls {
+  public static class NoopParent {
+    public static void noopParentMethod() {}
+  }
+
+  // The class initializer only calls the no-op class initializer of its superclass.
+  public static class NoopChild extends NoopParent {
+    public static void noopChildMethod() {}
+  }
+
+  public static class Parent {
+    public static int field = 42;
+  }
+
+  public static class Child extends Parent {
+    public static int readParentField() {
+      // Parent is already initialized by the class initializer call for Child.
+      return Parent.field;
+    }
+  }
+
+  public static int readField() {
+    NoopChild.noopChildMethod();
+    return Parent.field;
+  }
+}
@@ -17,16 +17,31 @@ package com.google.j2cl.transpiler;
 
 import static com.google.j2cl.transpiler.TranspilerTester.newTester;
 import static com.google.j2cl.transpiler.TranspilerTester.newTesterWithDefaults;
+import static java.util.stream.Collectors.toSet;
 
+import com.google.j2cl.transpiler.TranspilerTester.TranspileResult;
+import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
 import java.util.zip.ZipFile;
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
 import junit.framework.TestCase;
 
 /** End to end test for command line invocations. */
 public class CommandLineInvocationTest extends TestCase {
+  private static final String JRE_PATH =
+      "transpiler/javatests/com/google/j2cl/transpiler/jre_bundle_deploy.jar";
+
   public void testHelpFlag() {
     newTesterWithDefaults()
         .setArgs("-help")
@@ -290,4 +305,177 @@ public class CommandLineInvocationTest extends TestCase {
       assertNull(zipFile.getEntry("some/thing/Bogus.js"));
     }
   }
+
+  public void testIncrementalCache() throws IOException {
+    Path sourcePath = Files.createTempDirectory("sources");
+    Path cachePath = Files.createTempDirectory("cache");
+    writeSource(
+        sourcePath,
+        "test/package-info.java",
+        "@JsPackage(namespace = \"a\")",
+        "package test;",
+        "import jsinterop.annotations.JsPackage;");
+    writeSource(
+        sourcePath, "test/Foo.java", "package test;", "public class Foo {", "  Bar bar;", "}");
+    writeSource(sourcePath, "test/Bar.java", "package test;", "public class Bar {}");
+    writeSource(sourcePath, "test/Baz.java", "package test;", "public class Baz {}");
+
+    // All units are generated and cached on the first run.
+    TranspileResult firstResult = transpileIncrementally(sourcePath, cachePath);
+    Set<Path> entries = getCacheEntries(cachePath);
+    assertFalse(entries.isEmpty());
+
+    // Units that did not change are replayed from the cache, which marks their entries as used.
+    for (Path entry : entries) {
+      Files.setLastModifiedTime(entry, FileTime.fromMillis(0));
+    }
+    transpileIncrementally(sourcePath, cachePath).assertOutputFilesAreSame(firstResult);
+    assertEquals(entries, getCacheEntries(cachePath));
+    for (Path entry : entries) {
+      assertTrue(Files.getLastModifiedTime(entry).toMillis() > 0);
+    }
+
+    // Changing a unit invalidates the unit and the units that reference it, i.e. Bar and Foo.
+    writeSource(
+        sourcePath, "test/Bar.java", "package test;", "public class Bar {", "  int x;", "}");
+    transpileIncrementally(sourcePath, cachePath);
+    assertEquals(2, getNewCacheEntries(cachePath, entries).size());
+
+    // Changing the package-info invalidates all the units in the package, even though their
+    // sources did not change.
+    Set<Path> entriesBeforePackageChange = getCacheEntries(cachePath);
+    writeSource(
+        sourcePath,
+        "test/package-info.java",
+        "@JsPackage(namespace = \"b\")",
+        "package test;",
+        "import jsinterop.annotations.JsPackage;");
+    transpileIncrementally(sourcePath, cachePath);
+    assertEquals(
+        entries.size(), getNewCacheEntries(cachePath, entriesBeforePackageChange).size());
+  }
+
+  public void testPackageSummary() throws IOException {
+    Path summaryPath = Files.createTempDirectory("summary").resolve("lib.summary");
+    newTesterWithDefaults()
+        .addArgs("-backend", "KOTLIN")
+        .addArgs("-packagesummaryoutput", summaryPath.toString())
+        .addCompilationUnit("org.jspecify.nullness.NullMarked", "public @interface NullMarked {}")
+        .addFile(
+            "lib/package-info.java",
+            "@JsPackage(namespace = \"custom.ns\")",
+            "@NullMarked",
+            "package lib;",
+            "import jsinterop.annotations.JsPackage;",
+            "import org.jspecify.nullness.NullMarked;")
+        .addCompilationUnit("lib.Lib", "public class Lib {}")
+        .assertTranspileSucceeds();
+    assertTrue(Files.readAllLines(summaryPath).contains("lib\ttrue\tcustom.ns"));
+
+    // The jar of the library does not contain the package-info class, hence the namespace of the
+    // package is only known from the summary.
+    Path libraryJarPath = compileToJar("lib/Lib.java", "package lib;", "public class Lib {}");
+    String classPath = JRE_PATH + File.pathSeparator + libraryJarPath;
+
+    String output =
+        String.join(
+            "\n",
+            newTester()
+                .setClassPathArg(classPath)
+                .addArgs("-packagesummary", libraryJarPath + "=" + summaryPath)
+                .addCompilationUnit(
+                    "app.Main",
+                    "public class Main {",
+                    "  public Object create() {",
+                    "    return new lib.Lib();",
+                    "  }",
+                    "}")
+                .assertTranspileSucceeds()
+                .getOutputSource("app/Main.impl.java.js"));
+    assertTrue(output.contains("custom.ns.Lib"));
+
+    output =
+        String.join(
+            "\n",
+            newTester()
+                .setClassPathArg(classPath)
+                .addCompilationUnit(
+                    "app.Main",
+                    "public class Main {",
+                    "  public Object create() {",
+                    "    return new lib.Lib();",
+                    "  }",
+                    "}")
+                .assertTranspileSucceeds()
+                .getOutputSource("app/Main.impl.java.js"));
+    assertTrue(output.contains("lib.Lib"));
+    assertFalse(output.contains("custom.ns"));
+  }
+
+  private static TranspileResult transpileIncrementally(Path sourcePath, Path cachePath)
+      throws IOException {
+    TranspilerTester tester =
+        newTesterWithDefaults()
+            .setOutputPath(Files.createTempDirectory("outputdir"))
+            .addArgs("-backend", "KOTLIN")
+            .addArgs("-experimentalIncrementalCacheDir", cachePath.toString());
+    // Sources are passed from the same location on every run since their paths are part of the
+    // fingerprints.
+    try (Stream<Path> paths = Files.walk(sourcePath)) {
+      paths
+          .filter(p -> p.toString().endsWith(".java"))
+          .sorted()
+          .forEach(p -> tester.addSourcePathArg(p.toString()));
+    }
+    return tester.assertTranspileSucceeds();
+  }
+
+  /** Compiles {@code lines} as the source at {@code sourceFileName} into a jar. */
+  private static Path compileToJar(String sourceFileName, String... lines) throws IOException {
+    Path sourcePath = Files.createTempDirectory("classsources");
+    writeSource(sourcePath, sourceFileName, lines);
+    Path classesPath = Files.createTempDirectory("classes");
+    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    assertEquals(
+        0,
+        compiler.run(
+            null,
+            null,
+            null,
+            "-d",
+            classesPath.toString(),
+            sourcePath.resolve(sourceFileName).toString()));
+
+    Path jarPath = Files.createTempDirectory("jar").resolve("lib.jar");
+    try (JarOutputStream jar = new JarOutputStream(Files.newOutputStream(jarPath));
+        Stream<Path> paths = Files.walk(classesPath)) {
+      for (Path path : (Iterable<Path>) paths.filter(Files::isRegularFile)::iterator) {
+        jar.putNextEntry(
+            new JarEntry(classesPath.relativize(path).toString().replace(File.separatorChar, '/')));
+        jar.write(Files.readAllBytes(path));
+        jar.closeEntry();
+      }
+    }
+    return jarPath;
+  }
+
+  private static void writeSource(Path sourcePath, String fileName, String... lines)
+      throws IOException {
+    Path path = sourcePath.resolve(fileName);
+    Files.createDirectories(path.getParent());
+    Files.write(path, Arrays.asList(lines));
+  }
+
+  private static Set<Path> getCacheEntries(Path cachePath) throws IOException {
+    try (Stream<Path> paths = Files.list(cachePath)) {
+      return paths.filter(p -> p.toString().endsWith(".entry")).collect(toSet());
+    }
+  }
+
+  private static Set<Path> getNewCacheEntries(Path cachePath, Set<Path> previousEntries)
+      throws IOException {
+    Set<Path> entries = new HashSet<>(getCacheEntries(cachePath));
+    entries.removeAll(previousEntries);
+    return entries;
+  }
 }
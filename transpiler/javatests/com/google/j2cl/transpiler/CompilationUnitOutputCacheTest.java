@@ -0,0 +1,140 @@
+/*
+ * Copyright 2022 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.j2cl.transpiler;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableMap;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public final class CompilationUnitOutputCacheTest {
+
+  // Each entry with these outputs takes 4 + (4 + 4) + (4 + 100) bytes, so that two of them fit
+  // in the cache but three do not.
+  private static final Map<String, String> OUTPUTS =
+      ImmutableMap.of("a.kt", Strings.repeat("x", 100));
+  private static final long MAX_SIZE_IN_BYTES = 250;
+
+  @Rule public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private Path directory;
+  private CompilationUnitOutputCache cache;
+
+  @Before
+  public void setUp() throws IOException {
+    directory = temporaryFolder.newFolder("cache").toPath();
+    cache = new CompilationUnitOutputCache(directory, MAX_SIZE_IN_BYTES);
+  }
+
+  @Test
+  public void testGet_returnsStoredOutputs() {
+    Map<String, String> outputs =
+        ImmutableMap.of("b/B.kt", "class B", "a/A.kt", "class A \u2603");
+    cache.put("fingerprint", outputs);
+
+    assertThat(cache.get("fingerprint")).containsExactlyEntriesIn(outputs).inOrder();
+    assertThat(cache.get("other")).isNull();
+  }
+
+  @Test
+  public void testGet_marksEntryAsRecentlyUsed() throws IOException {
+    cache.put("fingerprint", OUTPUTS);
+    Path entryPath = directory.resolve("fingerprint.entry");
+    Files.setLastModifiedTime(entryPath, FileTime.fromMillis(0));
+
+    assertThat(cache.get("fingerprint")).isNotNull();
+    assertThat(Files.getLastModifiedTime(entryPath).toMillis()).isGreaterThan(0L);
+  }
+
+  @Test
+  public void testGet_truncatedEntryIsAMiss() throws IOException {
+    cache.put("fingerprint", OUTPUTS);
+    Path entryPath = directory.resolve("fingerprint.entry");
+    byte[] contents = Files.readAllBytes(entryPath);
+    Files.write(entryPath, Arrays.copyOf(contents, contents.length / 2));
+
+    assertThat(cache.get("fingerprint")).isNull();
+  }
+
+  @Test
+  public void testGet_entryWithInvalidSizesIsAMiss() throws IOException {
+    Path entryPath = directory.resolve("fingerprint.entry");
+    try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(entryPath))) {
+      out.writeInt(1);
+      out.writeInt(Integer.MAX_VALUE);
+    }
+    assertThat(cache.get("fingerprint")).isNull();
+
+    try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(entryPath))) {
+      out.writeInt(1);
+      out.writeInt(-1);
+    }
+    assertThat(cache.get("fingerprint")).isNull();
+
+    try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(entryPath))) {
+      out.writeInt(-1);
+    }
+    assertThat(cache.get("fingerprint")).isNull();
+  }
+
+  @Test
+  public void testPut_replacesCorruptEntry() throws IOException {
+    Path entryPath = directory.resolve("fingerprint.entry");
+    Files.write(entryPath, new byte[] {1, 2, 3});
+
+    cache.put("fingerprint", OUTPUTS);
+
+    assertThat(cache.get("fingerprint")).containsExactlyEntriesIn(OUTPUTS);
+  }
+
+  @Test
+  public void testPut_evictsLeastRecentlyUsedEntries() throws IOException {
+    cache.put("first", OUTPUTS);
+    cache.put("second", OUTPUTS);
+    // The first entry was used more recently than the second one.
+    Files.setLastModifiedTime(directory.resolve("first.entry"), FileTime.fromMillis(2000));
+    Files.setLastModifiedTime(directory.resolve("second.entry"), FileTime.fromMillis(1000));
+
+    cache.put("third", OUTPUTS);
+
+    assertThat(cache.get("second")).isNull();
+    assertThat(cache.get("first")).isNotNull();
+    assertThat(cache.get("third")).isNotNull();
+  }
+
+  @Test
+  public void testPut_keepsEntriesWithinMaxSize() {
+    cache.put("first", OUTPUTS);
+    cache.put("second", OUTPUTS);
+
+    assertThat(cache.get("first")).isNotNull();
+    assertThat(cache.get("second")).isNotNull();
+  }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2022 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.j2cl.transpiler.ast;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import com.google.j2cl.common.SourcePosition;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public final class NodeKindSummaryTest {
+
+  private static final BitSet NUMBER_LITERAL_KINDS = NodeKinds.of(NodeKinds.NUMBER_LITERAL);
+
+  private final TypeDeclaration typeDeclaration =
+      TypeDeclaration.newBuilder()
+          .setClassComponents(ImmutableList.of("Summarized"))
+          .setPackageName("test")
+          .setKind(TypeDeclaration.Kind.CLASS)
+          .build();
+  private final Method methodWithLiteral = createMethod("withLiteral", NumberLiteral.fromInt(1));
+  private final Method methodWithoutLiteral = createMethod("withoutLiteral", null);
+  private final Type type = createType(methodWithLiteral, methodWithoutLiteral);
+
+  @Test
+  public void testMembersWithoutNodeKindsOfInterestAreSkipped() {
+    List<Method> enteredMethods = new ArrayList<>();
+    type.accept(
+        new AbstractVisitor() {
+          @Override
+          public BitSet getNodeKindsOfInterest() {
+            return NUMBER_LITERAL_KINDS;
+          }
+
+          @Override
+          public boolean enterMethod(Method method) {
+            enteredMethods.add(method);
+            return true;
+          }
+        });
+
+    assertThat(enteredMethods).containsExactly(methodWithLiteral);
+    // Visiting without replacing nodes keeps the summaries.
+    assertThat(methodWithLiteral.getNodeKindSummary().get(NodeKinds.NUMBER_LITERAL)).isTrue();
+    assertThat(methodWithoutLiteral.getNodeKindSummary().get(NodeKinds.NUMBER_LITERAL)).isFalse();
+  }
+
+  @Test
+  public void testReplacingNodesInvalidatesSummaries() {
+    List<Method> processedMethods = new ArrayList<>();
+    AbstractRewriter rewriter =
+        new AbstractRewriter() {
+          @Override
+          public BitSet getNodeKindsOfInterest() {
+            return NUMBER_LITERAL_KINDS;
+          }
+
+          @Override
+          public boolean shouldProcessMethod(Method method) {
+            processedMethods.add(method);
+            return true;
+          }
+
+          @Override
+          public Expression rewriteNumberLiteral(NumberLiteral numberLiteral) {
+            return NumberLiteral.fromInt(2);
+          }
+        };
+    type.accept(rewriter);
+
+    assertThat(processedMethods).containsExactly(methodWithLiteral);
+    assertThat(methodWithLiteral.getNodeKindSummary()).isNull();
+    BitSet summary = methodWithoutLiteral.getNodeKindSummary();
+    assertThat(summary).isNotNull();
+
+    // The untouched member is skipped again using the same summary.
+    processedMethods.clear();
+    type.accept(rewriter);
+
+    assertThat(processedMethods).containsExactly(methodWithLiteral);
+    assertThat(methodWithoutLiteral.getNodeKindSummary()).isSameInstanceAs(summary);
+  }
+
+  private Method createMethod(String name, Expression returnedExpression) {
+    MethodDescriptor methodDescriptor =
+        MethodDescriptor.newBuilder()
+            .setEnclosingTypeDescriptor(typeDeclaration.toUnparameterizedTypeDescriptor())
+            .setName(name)
+            .setReturnTypeDescriptor(
+                returnedExpression == null
+                    ? PrimitiveTypes.VOID
+                    : returnedExpression.getTypeDescriptor())
+            .build();
+    return Method.newBuilder()
+        .setMethodDescriptor(methodDescriptor)
+        .setStatements(
+            ReturnStatement.newBuilder()
+                .setExpression(returnedExpression)
+                .setSourcePosition(SourcePosition.NONE)
+                .build())
+        .setSourcePosition(SourcePosition.NONE)
+        .build();
+  }
+
+  private Type createType(Member... members) {
+    Type type = new Type(SourcePosition.NONE, Visibility.PUBLIC, typeDeclaration);
+    type.addMembers(ImmutableList.copyOf(members));
+    return type;
+  }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2022 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.j2cl.transpiler.ast;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import com.google.common.collect.ImmutableList;
+import com.google.j2cl.common.SourcePosition;
+import com.google.j2cl.common.visitor.ProcessorError;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public final class ProcessorErrorTest {
+
+  private final TypeDeclaration typeDeclaration =
+      TypeDeclaration.newBuilder()
+          .setClassComponents(ImmutableList.of("Failing"))
+          .setPackageName("test")
+          .setKind(TypeDeclaration.Kind.CLASS)
+          .build();
+  private final NumberLiteral literal = NumberLiteral.fromInt(1);
+  private final Method method =
+      Method.newBuilder()
+          .setMethodDescriptor(
+              MethodDescriptor.newBuilder()
+                  .setEnclosingTypeDescriptor(typeDeclaration.toUnparameterizedTypeDescriptor())
+                  .setName("failing")
+                  .setReturnTypeDescriptor(PrimitiveTypes.INT)
+                  .build())
+          .setStatements(
+              ReturnStatement.newBuilder()
+                  .setExpression(literal)
+                  .setSourcePosition(SourcePosition.NONE)
+                  .build())
+          .setSourcePosition(SourcePosition.NONE)
+          .build();
+
+  @Test
+  public void testErrorInRewriteIsAttributedToRewrittenNode() {
+    ProcessorError error =
+        assertThrows(
+            ProcessorError.class,
+            () ->
+                method.accept(
+                    new AbstractRewriter() {
+                      @Override
+                      public Expression rewriteNumberLiteral(NumberLiteral numberLiteral) {
+                        throw new IllegalStateException();
+                      }
+                    }));
+
+    assertThat(error.getCause()).hasMessageThat().isEqualTo(processingMessage(literal));
+    assertThat(error.getCause()).hasCauseThat().isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  public void testErrorInEnterIsAttributedToEnteredNode() {
+    ProcessorError error =
+        assertThrows(
+            ProcessorError.class,
+            () ->
+                method.accept(
+                    new AbstractVisitor() {
+                      @Override
+                      public boolean enterNumberLiteral(NumberLiteral numberLiteral) {
+                        throw new IllegalStateException();
+                      }
+                    }));
+
+    assertThat(error.getCause()).hasMessageThat().isEqualTo(processingMessage(literal));
+  }
+
+  @Test
+  public void testParentIsEnclosingNodeWhileRewriting() {
+    Object[] parent = new Object[1];
+    method.accept(
+        new AbstractRewriter() {
+          @Override
+          public Expression rewriteNumberLiteral(NumberLiteral numberLiteral) {
+            parent[0] = getParent();
+            return numberLiteral;
+          }
+        });
+
+    assertThat(parent[0]).isInstanceOf(ReturnStatement.class);
+  }
+
+  private static String processingMessage(Object node) {
+    return "Error while processing:\n\n" + node + "\n";
+  }
+}
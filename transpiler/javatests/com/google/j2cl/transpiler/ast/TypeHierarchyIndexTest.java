@@ -0,0 +1,214 @@
+/*
+ * Copyright 2022 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.j2cl.transpiler.ast;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import com.google.j2cl.common.SourcePosition;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import javax.annotation.Nullable;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public final class TypeHierarchyIndexTest {
+
+  private static final int INTERFACE_COUNT = 70;
+
+  private static final TypeDeclaration OBJECT =
+      createClass("java.lang", "Object", null, ImmutableList.of());
+
+  // Classes.
+  private final TypeDeclaration base = createClass("Base", OBJECT);
+  private final TypeDeclaration sub = createClass("Sub", base);
+  private final TypeDeclaration subSub = createClass("SubSub", sub);
+  private final TypeDeclaration sibling = createClass("Sibling", OBJECT);
+
+  // Interfaces, more than fit in a single word of an interface row.
+  private final ImmutableList<TypeDeclaration> interfaces =
+      IntStream.range(0, INTERFACE_COUNT)
+          .mapToObj(i -> createInterface("I" + i, ImmutableList.of()))
+          .collect(toImmutableList());
+  private final TypeDeclaration lastInterface = interfaces.get(INTERFACE_COUNT - 1);
+  private final TypeDeclaration extendingInterface =
+      createInterface("Extending", ImmutableList.of(lastInterface));
+  private final TypeDeclaration implementingAll = createClass("ImplementingAll", OBJECT, interfaces);
+  private final TypeDeclaration implementingExtending =
+      createClass("ImplementingExtending", sub, ImmutableList.of(extendingInterface));
+
+  // A hierarchy that is not rooted at Object.
+  private final TypeDeclaration otherRoot =
+      createClass("test", "OtherRoot", null, ImmutableList.of());
+  private final TypeDeclaration otherRootSub = createClass("OtherRootSub", otherRoot);
+
+  // Not declared in the library.
+  private final TypeDeclaration unindexed = createClass("Unindexed", sub);
+
+  private TypeHierarchyIndex index;
+
+  @Before
+  public void setUp() {
+    if (!TypeDescriptors.isInitialized()) {
+      new TypeDescriptors.SingletonBuilder()
+          .addReferenceType(OBJECT.toUnparameterizedTypeDescriptor())
+          .buildSingleton();
+    }
+    index =
+        TypeHierarchyIndex.index(
+            createLibrary(
+                base,
+                sub,
+                subSub,
+                sibling,
+                extendingInterface,
+                implementingAll,
+                implementingExtending,
+                otherRoot,
+                otherRootSub));
+  }
+
+  @After
+  public void tearDown() {
+    index.clear();
+  }
+
+  @Test
+  public void testClassIntervals() {
+    assertThat(subSub.getTypeHierarchyIndexEntry()).isNotNull();
+
+    assertThat(subSub.isSubtypeOf(subSub)).isTrue();
+    assertThat(subSub.isSubtypeOf(sub)).isTrue();
+    assertThat(subSub.isSubtypeOf(base)).isTrue();
+    assertThat(subSub.isSubtypeOf(OBJECT)).isTrue();
+    assertThat(implementingExtending.isSubtypeOf(base)).isTrue();
+
+    assertThat(base.isSubtypeOf(sub)).isFalse();
+    assertThat(sub.isSubtypeOf(subSub)).isFalse();
+    assertThat(sibling.isSubtypeOf(base)).isFalse();
+    assertThat(base.isSubtypeOf(sibling)).isFalse();
+    assertThat(subSub.isSubtypeOf(implementingExtending)).isFalse();
+  }
+
+  @Test
+  public void testInterfaceRows() {
+    for (TypeDeclaration interfaceDeclaration : interfaces) {
+      assertThat(implementingAll.isSubtypeOf(interfaceDeclaration)).isTrue();
+      assertThat(interfaceDeclaration.isSubtypeOf(OBJECT)).isTrue();
+      assertThat(sub.isSubtypeOf(interfaceDeclaration)).isFalse();
+    }
+    assertThat(implementingAll.isSubtypeOf(extendingInterface)).isFalse();
+
+    assertThat(extendingInterface.isSubtypeOf(lastInterface)).isTrue();
+    assertThat(lastInterface.isSubtypeOf(extendingInterface)).isFalse();
+    assertThat(implementingExtending.isSubtypeOf(extendingInterface)).isTrue();
+    assertThat(implementingExtending.isSubtypeOf(lastInterface)).isTrue();
+    assertThat(implementingExtending.isSubtypeOf(interfaces.get(0))).isFalse();
+    assertThat(interfaces.get(0).isSubtypeOf(lastInterface)).isFalse();
+  }
+
+  @Test
+  public void testMultipleRoots() {
+    assertThat(otherRootSub.isSubtypeOf(otherRoot)).isTrue();
+    assertThat(otherRoot.isSubtypeOf(otherRootSub)).isFalse();
+    assertThat(otherRootSub.isSubtypeOf(base)).isFalse();
+    assertThat(base.isSubtypeOf(otherRoot)).isFalse();
+    // Everything is a subtype of Object, even if it is not in its interval.
+    assertThat(otherRootSub.isSubtypeOf(OBJECT)).isTrue();
+  }
+
+  @Test
+  public void testUnindexedDeclarationsFallBackToSupertypes() {
+    assertThat(unindexed.getTypeHierarchyIndexEntry()).isNull();
+
+    assertThat(unindexed.isSubtypeOf(sub)).isTrue();
+    assertThat(unindexed.isSubtypeOf(base)).isTrue();
+    assertThat(unindexed.isSubtypeOf(OBJECT)).isTrue();
+    assertThat(unindexed.isSubtypeOf(subSub)).isFalse();
+    assertThat(sub.isSubtypeOf(unindexed)).isFalse();
+  }
+
+  @Test
+  public void testClearDetachesIndex() {
+    index.clear();
+
+    assertThat(subSub.getTypeHierarchyIndexEntry()).isNull();
+    assertThat(lastInterface.getTypeHierarchyIndexEntry()).isNull();
+    assertThat(OBJECT.getTypeHierarchyIndexEntry()).isNull();
+    assertThat(subSub.isSubtypeOf(base)).isTrue();
+    assertThat(implementingExtending.isSubtypeOf(lastInterface)).isTrue();
+    assertThat(base.isSubtypeOf(sub)).isFalse();
+  }
+
+  private static TypeDeclaration createClass(String simpleName, TypeDeclaration superclass) {
+    return createClass(simpleName, superclass, ImmutableList.of());
+  }
+
+  private static TypeDeclaration createClass(
+      String simpleName, TypeDeclaration superclass, ImmutableList<TypeDeclaration> interfaces) {
+    return createClass("test", simpleName, superclass, interfaces);
+  }
+
+  private static TypeDeclaration createClass(
+      String packageName,
+      String simpleName,
+      @Nullable TypeDeclaration superclass,
+      ImmutableList<TypeDeclaration> interfaces) {
+    return TypeDeclaration.newBuilder()
+        .setClassComponents(ImmutableList.of(simpleName))
+        .setPackageName(packageName)
+        .setKind(TypeDeclaration.Kind.CLASS)
+        .setSuperTypeDescriptorFactory(
+            () -> superclass == null ? null : superclass.toUnparameterizedTypeDescriptor())
+        .setInterfaceTypeDescriptorsFactory(() -> toTypeDescriptors(interfaces))
+        .build();
+  }
+
+  private static TypeDeclaration createInterface(
+      String simpleName, ImmutableList<TypeDeclaration> superInterfaces) {
+    return TypeDeclaration.newBuilder()
+        .setClassComponents(ImmutableList.of(simpleName))
+        .setPackageName("test")
+        .setKind(TypeDeclaration.Kind.INTERFACE)
+        .setInterfaceTypeDescriptorsFactory(() -> toTypeDescriptors(superInterfaces))
+        .build();
+  }
+
+  private static ImmutableList<DeclaredTypeDescriptor> toTypeDescriptors(
+      ImmutableList<TypeDeclaration> typeDeclarations) {
+    return typeDeclarations.stream()
+        .map(TypeDeclaration::toUnparameterizedTypeDescriptor)
+        .collect(toImmutableList());
+  }
+
+  private static Library createLibrary(TypeDeclaration... typeDeclarations) {
+    List<CompilationUnit> compilationUnits = new ArrayList<>();
+    for (TypeDeclaration typeDeclaration : typeDeclarations) {
+      CompilationUnit compilationUnit =
+          new CompilationUnit(
+              typeDeclaration.getSimpleSourceName() + ".java", typeDeclaration.getPackageName());
+      compilationUnit.addType(new Type(SourcePosition.NONE, Visibility.PUBLIC, typeDeclaration));
+      compilationUnits.add(compilationUnit);
+    }
+    return Library.newBuilder().setCompilationUnits(compilationUnits).build();
+  }
+}